@@ -0,0 +1,103 @@
+/*
+ * Title:        EdgeCloudSim - Normal CDF Benchmark
+ *
+ * Description:
+ * NormalCdfBenchmark compares NormalCdf with the commons-math
+ * NormalDistribution path it replaced in the ETC/ETT/PTC matrices and the
+ * convolution probability. Both paths evaluate the same seeded inputs;
+ * after a warm up phase every path is timed over several rounds and the
+ * best round is reported in ns/op, together with the largest absolute
+ * difference between the two results.
+ * Usage: NormalCdfBenchmark [rounds] [calls per round]
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmark;
+
+import java.util.Random;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+import edu.boun.edgecloudsim.utils.NormalCdf;
+
+public class NormalCdfBenchmark {
+	private static final long SEED = 42;
+	private static final int NUM_OF_INPUTS = 4096;
+	private static final int WARM_UP_ROUNDS = 5;
+
+	private final double[] mu = new double[NUM_OF_INPUTS];
+	private final double[] sigma = new double[NUM_OF_INPUTS];
+	private final double[] deadline = new double[NUM_OF_INPUTS];
+
+	// keeps the JIT from dropping the measured calls
+	private double sink;
+
+	public NormalCdfBenchmark() {
+		// service times and deadlines in the range the matrices see
+		Random rng = new Random(SEED);
+		for(int i=0; i<NUM_OF_INPUTS; i++) {
+			mu[i] = 0.1 + rng.nextDouble() * 20;
+			sigma[i] = 0.01 + rng.nextDouble() * 5;
+			deadline[i] = rng.nextDouble() * 30;
+		}
+	}
+
+	//the old path, one distribution object per probability
+	private double distributionPath(int calls) {
+		double sum = 0;
+		for(int i=0; i<calls; i++) {
+			int k = i & (NUM_OF_INPUTS - 1);
+			sum += new NormalDistribution(mu[k], sigma[k]).cumulativeProbability(deadline[k]);
+		}
+		return sum;
+	}
+
+	private double normalCdfPath(int calls) {
+		double sum = 0;
+		for(int i=0; i<calls; i++) {
+			int k = i & (NUM_OF_INPUTS - 1);
+			sum += NormalCdf.cdf(deadline[k], mu[k], sigma[k]);
+		}
+		return sum;
+	}
+
+	private double maxError() {
+		double max = 0;
+		for(int k=0; k<NUM_OF_INPUTS; k++) {
+			double expected = new NormalDistribution(mu[k], sigma[k]).cumulativeProbability(deadline[k]);
+			max = Math.max(max, Math.abs(expected - NormalCdf.cdf(deadline[k], mu[k], sigma[k])));
+		}
+		return max;
+	}
+
+	//best time of the rounds in ns per call
+	private double measure(boolean distribution, int rounds, int calls) {
+		for(int i=0; i<WARM_UP_ROUNDS; i++)
+			sink += distribution ? distributionPath(calls) : normalCdfPath(calls);
+
+		double best = Double.MAX_VALUE;
+		for(int i=0; i<rounds; i++) {
+			long start = System.nanoTime();
+			sink += distribution ? distributionPath(calls) : normalCdfPath(calls);
+			best = Math.min(best, (double)(System.nanoTime() - start) / calls);
+		}
+		return best;
+	}
+
+	public static void main(String[] args) {
+		int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+		NormalCdfBenchmark benchmark = new NormalCdfBenchmark();
+		double distributionTime = benchmark.measure(true, rounds, calls);
+		double normalCdfTime = benchmark.measure(false, rounds, calls);
+
+		System.out.println("inputs: " + NUM_OF_INPUTS + " (seed " + SEED + "), rounds: " + rounds + ", calls per round: " + calls);
+		System.out.println(String.format("NormalDistribution: %.1f ns/op", distributionTime));
+		System.out.println(String.format("NormalCdf:          %.1f ns/op", normalCdfTime));
+		System.out.println(String.format("max abs error:      %.2e", benchmark.maxError()));
+		System.out.println("checksum: " + benchmark.sink);
+	}
+}
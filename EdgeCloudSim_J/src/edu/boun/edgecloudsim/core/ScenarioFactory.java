@@ -54,4 +54,10 @@ public interface ScenarioFactory {
 	 * provides abstract Vm Allocation Policy
 	 */
 	public VmAllocationPolicy getVmAllocationPolicy(List<? extends Host> list, int dataCenterIndex);
+
+	/**
+	 * provides the mobile device manager (broker) of an edge datacenter,
+	 * managers are numbered from 0 and each one serves the tasks of its region
+	 */
+	public int getBrokerOfDatacenter(int dataCenterIndex);
 }
@@ -13,6 +13,7 @@
 package edu.boun.edgecloudsim.core;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -21,7 +22,12 @@ import java.io.PrintWriter;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.SimEntity;
@@ -29,6 +35,7 @@ import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.edge_orchestrator.BasicEdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
+import edu.boun.edgecloudsim.edge_server.EdgeHost;
 import edu.boun.edgecloudsim.edge_server.EdgeServerManager;
 import edu.boun.edgecloudsim.edge_server.VmAllocationPolicy_Custom;
 import edu.boun.edgecloudsim.edge_client.MobileDeviceManager;
@@ -36,6 +43,7 @@ import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.mobility.MobilityModel;
 import edu.boun.edgecloudsim.task_generator.LoadGeneratorModel;
 import edu.boun.edgecloudsim.network.NetworkModel;
+import edu.boun.edgecloudsim.utils.AsyncLogWriter;
 import edu.boun.edgecloudsim.utils.EdgeTask;
 import edu.boun.edgecloudsim.utils.SimLogger;
 
@@ -45,7 +53,6 @@ public class SimManager extends SimEntity {
 	private static final int GET_LOAD_LOG = 2;
 	private static final int PRINT_PROGRESS = 3;
 	private static final int STOP_SIMULATION = 4;
-	private static final int CHECK_SCHEDULER = 5;
 	
 	private int numOfMobileDevice;
 	private NetworkModel networkModel;
@@ -54,7 +61,11 @@ public class SimManager extends SimEntity {
 	private EdgeOrchestrator edgeOrchestrator;
 	public EdgeServerManager edgeServerManager;
 	private LoadGeneratorModel loadGeneratorModel;
-	private MobileDeviceManager mobileDeviceManager;
+	private List<MobileDeviceManager> mobileDeviceManagers; //one per region
+	private int[] brokerOfDatacenter; //index of the manager serving each datacenter
+	private Map<Integer, Integer> datacenterOfWlan; //datacenter index of each access point
+	private int taskIdCounter = 0; //task ids are unique over all managers
+	private double[] vmUtilizations;
 	
 	private static SimManager instance = null;
 	
@@ -85,8 +96,20 @@ public class SimManager extends SimEntity {
 		//Create Physical Servers
 		edgeServerManager = new EdgeServerManager();
 
-		//Create Client Manager
-		mobileDeviceManager = new MobileDeviceManager();
+		//Create Client Managers, one per region
+		int numOfDatacenters = SimSettings.getInstance().getNumOfEdgeDatacenters();
+		int numOfManagers = 1;
+		brokerOfDatacenter = new int[numOfDatacenters];
+		for(int i=0; i<numOfDatacenters; i++) {
+			brokerOfDatacenter[i] = scenarioFactory.getBrokerOfDatacenter(i);
+			numOfManagers = Math.max(numOfManagers, brokerOfDatacenter[i] + 1);
+		}
+		mobileDeviceManagers = new ArrayList<MobileDeviceManager>(numOfManagers);
+		if(numOfManagers == 1)
+			mobileDeviceManagers.add(new MobileDeviceManager());
+		else
+			for(int i=0; i<numOfManagers; i++)
+				mobileDeviceManagers.add(new MobileDeviceManager("Broker_" + i));
 		
 		instance = this;
 	}
@@ -105,7 +128,19 @@ public class SimManager extends SimEntity {
 		
 		//Start Edge Servers & Generate VMs
 		edgeServerManager.startDatacenters();
-		edgeServerManager.createVmList(mobileDeviceManager.getId());
+		int[] brokerIds = new int[brokerOfDatacenter.length];
+		for(int i=0; i<brokerOfDatacenter.length; i++)
+			brokerIds[i] = mobileDeviceManagers.get(brokerOfDatacenter[i]).getId();
+		edgeServerManager.createVmList(brokerIds);
+		
+		//access points are mapped to the datacenter they belong to
+		datacenterOfWlan = new HashMap<Integer, Integer>();
+		for(int i=0; i<edgeServerManager.getDatacenterList().size(); i++)
+			for(Host host : edgeServerManager.getDatacenterList().get(i).getHostList())
+				datacenterOfWlan.put(((EdgeHost)host).getLocation().getServingWlanId(), i);
+		vmUtilizations = new double[edgeServerManager.getNumOfVms()];
+		SimLogger.getInstance().initVmUtilizationLog(edgeServerManager.getVmDatacenters(),
+				edgeServerManager.getDatacenterList().size());
 		
 		CloudSim.startSimulation();
 	}
@@ -134,14 +169,36 @@ public class SimManager extends SimEntity {
 		return edgeServerManager;
 	}
 
+	/*
+	 * returns the manager of the first region, the only one unless the managers are sharded
+	 */
 	public MobileDeviceManager getMobileDeviceManager(){
-		return mobileDeviceManager;
+		return mobileDeviceManagers.get(0);
+	}
+	
+	public List<MobileDeviceManager> getMobileDeviceManagers(){
+		return mobileDeviceManagers;
+	}
+	
+	/*
+	 * returns the manager of the region the device is in
+	 */
+	public MobileDeviceManager getMobileDeviceManager(int mobileDeviceId){
+		if(mobileDeviceManagers.size() == 1)
+			return mobileDeviceManagers.get(0);
+		int wlanId = mobilityModel.getLocation(mobileDeviceId, CloudSim.clock()).getServingWlanId();
+		Integer datacenter = datacenterOfWlan.get(wlanId);
+		return mobileDeviceManagers.get(datacenter == null ? 0 : brokerOfDatacenter[datacenter]);
+	}
+	
+	public int createTaskId(){
+		return ++taskIdCounter;
 	}
 	
 	@Override
 	public void startEntity() {
 		for(int i=0; i<edgeServerManager.getDatacenterList().size(); i++) {
-			mobileDeviceManager.submitVmList(edgeServerManager.getVmList(i));
+			mobileDeviceManagers.get(brokerOfDatacenter[i]).submitVmList(edgeServerManager.getVmList(i));
 		    //System.out.println(" VM Mips for host "+i+" is "+edgeServerManager.getVmList(i).get(0).getId());
 		}
 		//Creation of tasks are scheduled here!
@@ -152,20 +209,12 @@ public class SimManager extends SimEntity {
 		
 			
 		
-		FileWriter fw;
-		try {
-			fw = new FileWriter("Result.txt",true);
-			
-			PrintWriter printWriter = new PrintWriter(fw);
-			printWriter.println(" =================================================");
-			printWriter.println(" Total no of task created for scheduling  " + loadGeneratorModel.getTaskList().size());
-			printWriter.println(" =================================================");
-			
-			printWriter.close();
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		AsyncLogWriter logWriter = AsyncLogWriter.getInstance();
+		AsyncLogWriter.LogFile resultLog = logWriter.open(new File("Result.txt"), true);
+		logWriter.write(resultLog, " =================================================");
+		logWriter.write(resultLog, " Total no of task created for scheduling  " + loadGeneratorModel.getTaskList().size());
+		logWriter.write(resultLog, " =================================================");
+		logWriter.close(resultLog);
 		
 		
 		
@@ -174,7 +223,6 @@ public class SimManager extends SimEntity {
 		
 		//Periodic event loops starts from here!
 		schedule(getId(), 5, CHECK_ALL_VM);
-		schedule(getId(),0,CHECK_SCHEDULER);
 		schedule(getId(), SimSettings.getInstance().getSimulationTime()/100, PRINT_PROGRESS);
 		schedule(getId(), SimSettings.getInstance().getVmLoadLogInterval(), GET_LOAD_LOG);
 		schedule(getId(), SimSettings.getInstance().getSimulationTime(), STOP_SIMULATION);
@@ -189,7 +237,7 @@ public class SimManager extends SimEntity {
 			case CREATE_TASK:
 				try {
 					EdgeTask edgeTask = (EdgeTask) ev.getData();
-					mobileDeviceManager.submitTask(edgeTask);						
+					getMobileDeviceManager(edgeTask.mobileDeviceId).submitTask(edgeTask);
 				} catch (Exception e) {
 					e.printStackTrace();
 					System.exit(0);
@@ -203,20 +251,10 @@ public class SimManager extends SimEntity {
 				}
 				break;
 			case GET_LOAD_LOG:
-				SimLogger.getInstance().addVmUtilizationLog(CloudSim.clock(),edgeServerManager.getAvgUtilization());
+				edgeServerManager.getVmUtilizations(vmUtilizations);
+				SimLogger.getInstance().addVmUtilizationLog(CloudSim.clock(),vmUtilizations);
 				schedule(getId(), SimSettings.getInstance().getVmLoadLogInterval(), GET_LOAD_LOG);
 				break;
-			case CHECK_SCHEDULER:
-				//Task task = (Task) ev.getData();
-				int prgsPerSecond = (int)((CloudSim.clock()*100)/SimSettings.getInstance().getSimulationTime());
-				if(prgsPerSecond % 2 == 0) {
-				//System.out.println(" checking the scheduler");
-				mobileDeviceManager.taskSchedulingFCFS();
-				}
-				if(CloudSim.clock() < SimSettings.getInstance().getSimulationTime()) {
-					schedule(getId(), 2, CHECK_SCHEDULER);
-				}
-				break;
 			case PRINT_PROGRESS:
 				int progress = (int)((CloudSim.clock()*100)/SimSettings.getInstance().getSimulationTime());
 				if(progress % 10 == 0) {
@@ -249,14 +287,24 @@ public class SimManager extends SimEntity {
 				try {
 					SimLogger.getInstance().simStopped();
 					
-					FileWriter fw = new FileWriter("RedirectedTasks.txt",true);
-					PrintWriter printWriter = new PrintWriter(fw);
+					AsyncLogWriter logWriter = AsyncLogWriter.getInstance();
+					AsyncLogWriter.LogFile redirectedLog = logWriter.open(new File("RedirectedTasks.txt"), true);
 					
-					printWriter.println("policy " + BasicEdgeOrchestrator.getBasicEdgePlociy()+ " redirected tasks "+BasicEdgeOrchestrator.getRedirectBS());
+					logWriter.write(redirectedLog, "policy " + BasicEdgeOrchestrator.getBasicEdgePlociy()+ " redirected tasks "+BasicEdgeOrchestrator.getRedirectBS());
 					
-					printWriter.println("policy " + BasicEdgeOrchestrator.getBasicEdgePlociy()+" Failed tasks = "+SimLogger.getInstance().getDlMisCounter());
+					logWriter.write(redirectedLog, "policy " + BasicEdgeOrchestrator.getBasicEdgePlociy()+" Failed tasks = "+SimLogger.getInstance().getDlMisCounter());
+					
+					int submittedTasks = 0, returnedTasks = 0, pendingTasks = 0;
+					for(MobileDeviceManager manager : mobileDeviceManagers) {
+						submittedTasks += manager.getNumOfSubmittedTasks();
+						returnedTasks += manager.getNumOfReturnedTasks();
+						pendingTasks += manager.getNumOfPendingTasks();
+					}
+					logWriter.write(redirectedLog, "policy " + BasicEdgeOrchestrator.getBasicEdgePlociy()+" submitted tasks = "+submittedTasks+
+							" returned tasks = "+returnedTasks+" pending tasks = "+pendingTasks);
 					
-					printWriter.close();
+					logWriter.close(redirectedLog);
+					logWriter.closeAll();
 					BasicEdgeOrchestrator.setRedirectBS(0);
 					//SimLogger.getInstance().setDlMisCounter(0);
 					//System.out.println(" Non urgent tasks "+BasicEdgeOrchestrator.getNonUrgTaskC()+" Urgent tasks "+ BasicEdgeOrchestrator.getUrgentTaskC());
@@ -56,8 +56,18 @@ public class SimSettings {
     private double WARM_UP_PERIOD; //minutes unit in properties file
     private double INTERVAL_TO_GET_VM_LOAD_LOG; //minutes unit in properties file
     private double INTERVAL_TO_GET_VM_LOCATION_LOG; //minutes unit in properties file
+    private int VM_LOAD_DOWNSAMPLING; //number of VM load samples averaged into a logged point
     private boolean FILE_LOG_ENABLED; //boolean to check file logging option
     private boolean DEEP_FILE_LOG_ENABLED; //boolean to check deep file logging option
+    private boolean STREAMING_TASK_LOG_ENABLED; //boolean to check streaming task log option
+    private boolean BINARY_FILE_LOG_ENABLED; //boolean to check binary file logging option
+    private boolean PTC_SNAPSHOT_ENABLED; //boolean to check PTC snapshot option
+    private String WARM_START_FILE; //ETC/PTC/ETT statistics snapshot loaded at startup
+    private boolean PARALLEL_ORCHESTRATION_ENABLED; //boolean to check parallel orchestration option
+    private String BATCH_ASSIGNMENT; //heuristic assigning the waiting tasks jointly, none decides them one by one
+    private int BATCH_ASSIGNMENT_MAX_WINDOW; //largest window solved as an assignment problem
+    private double DISPATCH_BATCH_WINDOW; //seconds the dispatch of arriving tasks is delayed to batch them
+    private int DATACENTERS_PER_BROKER; //edge datacenters served by one mobile device manager, 0 for a single one
 
     private int MIN_NUM_OF_MOBILE_DEVICES;
     private int MAX_NUM_OF_MOBILE_DEVICES;
@@ -75,6 +85,10 @@ public class SimSettings {
 
     private int MIPS_FOR_CLOUD; //MIPS
     
+    private String NEIGHBORHOOD; //grid, radius, knn or explicit
+    private double NEIGHBORHOOD_RADIUS; //same unit as the x/y positions in edge_devices.xml
+    private int NEIGHBORHOOD_K; //number of neighbors for knn
+    
     private String[] SIMULATION_SCENARIOS;
     private String[] ORCHESTRATOR_POLICIES;
     private String[] SCHEDULING_POLICIES;
@@ -124,8 +138,18 @@ public class SimSettings {
 			WARM_UP_PERIOD = (double)60 * Double.parseDouble(prop.getProperty("warm_up_period")); //seconds
 			INTERVAL_TO_GET_VM_LOAD_LOG = (double)60 * Double.parseDouble(prop.getProperty("vm_load_check_interval")); //seconds
 			INTERVAL_TO_GET_VM_LOCATION_LOG = (double)60 * Double.parseDouble(prop.getProperty("vm_location_check_interval")); //seconds
+			VM_LOAD_DOWNSAMPLING = Integer.parseInt(prop.getProperty("vm_load_downsampling", "1"));
 			FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("file_log_enabled"));
 			DEEP_FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("deep_file_log_enabled"));
+			STREAMING_TASK_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("streaming_task_log_enabled", "false"));
+			BINARY_FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("binary_file_log_enabled", "false"));
+			PTC_SNAPSHOT_ENABLED = Boolean.parseBoolean(prop.getProperty("ptc_snapshot_enabled", "false"));
+			WARM_START_FILE = prop.getProperty("warm_start_file", "").trim();
+			PARALLEL_ORCHESTRATION_ENABLED = Boolean.parseBoolean(prop.getProperty("parallel_orchestration_enabled", "false"));
+			BATCH_ASSIGNMENT = prop.getProperty("batch_assignment", "none");
+			BATCH_ASSIGNMENT_MAX_WINDOW = Integer.parseInt(prop.getProperty("batch_assignment_max_window", "32"));
+			DISPATCH_BATCH_WINDOW = Double.parseDouble(prop.getProperty("dispatch_batch_window", "0"));
+			DATACENTERS_PER_BROKER = Integer.parseInt(prop.getProperty("datacenters_per_broker", "0"));
 			
 			MIN_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("min_number_of_mobile_devices"));
 			MAX_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("max_number_of_mobile_devices"));
@@ -141,6 +165,10 @@ public class SimSettings {
 			//-Storage and RAM are unlimited in cloud
 			//-Each task is executed with maximum capacity (as if there is no task in the cloud) 
 			MIPS_FOR_CLOUD = Integer.parseInt(prop.getProperty("mips_for_cloud"));
+			
+			NEIGHBORHOOD = prop.getProperty("neighborhood", "grid").trim();
+			NEIGHBORHOOD_RADIUS = Double.parseDouble(prop.getProperty("neighborhood_radius", "1"));
+			NEIGHBORHOOD_K = Integer.parseInt(prop.getProperty("neighborhood_k", "4"));
 
 			ORCHESTRATOR_POLICIES = prop.getProperty("orchestrator_policies").split(",");
 			SCHEDULING_POLICIES = prop.getProperty("scheduling_policies").split(",");
@@ -210,6 +238,14 @@ public class SimSettings {
 		return INTERVAL_TO_GET_VM_LOAD_LOG; 
 	}
 
+	/**
+	 * returns the number of VM load samples averaged into a logged point from properties file
+	 */
+	public int getVmLoadDownsampling()
+	{
+		return VM_LOAD_DOWNSAMPLING; 
+	}
+
 	/**
 	 * returns VM location log collection interval (in seconds unit) from properties file
 	 */
@@ -233,6 +269,87 @@ public class SimSettings {
 	{
 		return FILE_LOG_ENABLED; 
 	}
+
+	/**
+	 * returns streaming task log status from properties file
+	 * finished tasks are summarized and dropped instead of kept until the end
+	 */
+	public boolean getStreamingTaskLogEnabled()
+	{
+		return STREAMING_TASK_LOG_ENABLED; 
+	}
+
+	/**
+	 * returns binary file logging status from properties file
+	 * SUCCESS/FAIL/VM_LOAD logs are written as fixed-width records, see BinaryLogWriter
+	 */
+	public boolean getBinaryFileLoggingEnabled()
+	{
+		return BINARY_FILE_LOG_ENABLED; 
+	}
+
+	/**
+	 * returns PTC snapshot status from properties file
+	 * the per datacenter PTC rows are written to the output folder once the simulation ends
+	 */
+	public boolean getPtcSnapshotEnabled()
+	{
+		return PTC_SNAPSHOT_ENABLED; 
+	}
+
+	/**
+	 * returns the statistics snapshot loaded at startup from properties file
+	 * empty if every run starts without learned ETC/PTC/ETT statistics
+	 */
+	public String getWarmStartFile()
+	{
+		return WARM_START_FILE; 
+	}
+
+	/**
+	 * returns parallel orchestration status from properties file
+	 * tasks scheduled at the same time are evaluated on the fork-join pool if the policy allows it
+	 */
+	public boolean getParallelOrchestrationEnabled()
+	{
+		return PARALLEL_ORCHESTRATION_ENABLED; 
+	}
+
+	/**
+	 * returns the batch assignment heuristic from properties file
+	 * none, slack, minmin, maxmin or hungarian
+	 */
+	public String getBatchAssignment()
+	{
+		return BATCH_ASSIGNMENT; 
+	}
+
+	/**
+	 * returns the largest window of tasks solved as an assignment problem from properties file
+	 * larger windows are assigned by min-min
+	 */
+	public int getBatchAssignmentMaxWindow()
+	{
+		return BATCH_ASSIGNMENT_MAX_WINDOW; 
+	}
+
+	/**
+	 * returns the batch window (in second unit) of the task dispatch from properties file
+	 * 0 dispatches the tasks arriving at the same time together
+	 */
+	public double getDispatchBatchWindow()
+	{
+		return DISPATCH_BATCH_WINDOW; 
+	}
+
+	/**
+	 * returns the number of edge datacenters served by one mobile device manager from properties file
+	 * 0 if a single manager serves every datacenter
+	 */
+	public int getDatacentersPerBroker()
+	{
+		return DATACENTERS_PER_BROKER; 
+	}
 	
 	/**
 	 * returns WAN propogation delay (in second unit) from properties file
@@ -331,6 +448,32 @@ public class SimSettings {
 		return MIPS_FOR_CLOUD;
 	}
 
+	/**
+	 * returns how neighboring base stations are chosen from properties file
+	 * grid: one unit away along either axis, radius: within neighborhood_radius,
+	 * knn: the neighborhood_k closest ones, explicit: neighbor elements in edge_devices.xml
+	 */
+	public String getNeighborhood()
+	{
+		return NEIGHBORHOOD;
+	}
+
+	/**
+	 * returns the neighborhood radius from properties file
+	 */
+	public double getNeighborhoodRadius()
+	{
+		return NEIGHBORHOOD_RADIUS;
+	}
+
+	/**
+	 * returns the number of neighbors of the knn neighborhood from properties file
+	 */
+	public int getNeighborhoodK()
+	{
+		return NEIGHBORHOOD_K;
+	}
+
 	/**
 	 * returns simulation screnarios as string
 	 */
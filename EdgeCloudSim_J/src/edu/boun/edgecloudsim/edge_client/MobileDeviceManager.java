@@ -18,9 +18,11 @@ package edu.boun.edgecloudsim.edge_client;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.DatacenterBroker;
@@ -38,6 +40,7 @@ import com.google.common.collect.ArrayListMultimap;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_orchestrator.BasicEdgeOrchestrator;
+import edu.boun.edgecloudsim.edge_orchestrator.OrchestrationResult;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.network.NetworkModel;
 import edu.boun.edgecloudsim.utils.EdgeTask;
@@ -54,18 +57,31 @@ public class MobileDeviceManager extends DatacenterBroker {
 	private static final int REQUEST_RECIVED_BY_EDGE_DEVICE = BASE + 3;
 	private static final int RESPONSE_RECEIVED_BY_MOBILE_DEVICE = BASE + 4;
 	private static final int REQUEST_RECIVED_BY_EDGE_ORCHESTRATOR = BASE + 5;
+	private static final int DISPATCH_READY_TASKS = BASE + 6;
 	private ArrayListMultimap<String, Double> executionTimes1 = ArrayListMultimap.create();
 	private ArrayListMultimap<String, Double> executionTimes2 = ArrayListMultimap.create();
 	private HashMap<String, NormDistr> distributions = new HashMap<>();
-	private int taskIdCounter=0;
 	
 	private static final List<Task> taskBatchList = new ArrayList<Task>();
 	
-	private int dlMisCounter = 0 ;
 	private int counter = 0;
+	
+	// pending tasks live only in the ready queue, the cloudlet lists of DatacenterBroker are not kept for them
+	private final ReadyQueue readyQueue; //waiting tasks in the order of the scheduling policy
+	private final Map<Integer, ReadyQueue.Handle> readyHandles = new HashMap<Integer, ReadyQueue.Handle>(); //indexed by cloudlet id
+	private int cloudletsReturned = 0; //tasks returned by the edge VMs
+	private boolean dispatchPending = false; //a DISPATCH_READY_TASKS event is scheduled
 
 	public MobileDeviceManager() throws Exception {
-		super("Global_Broker");
+		this("Global_Broker");
+	}
+	
+	/**
+	 * A manager serving the tasks of one region, see ScenarioFactory.getBrokerOfDatacenter
+	 */
+	public MobileDeviceManager(String name) throws Exception {
+		super(name);
+		readyQueue = new ReadyQueue(ReadyQueue.getOrder(SimSettings.getInstance().getSchedulingPlocies()[0]));
 	}
 
 	/**
@@ -76,44 +92,16 @@ public class MobileDeviceManager extends DatacenterBroker {
 	 */
 	@Override
 	protected void submitCloudlets() {
-		Log.printLine(" I am in override function");
 		int vmIndex = 0;
-		List <Cloudlet> sortList= new ArrayList<Cloudlet>();
-		
-		ArrayList<Cloudlet> tempList = new ArrayList<Cloudlet>();
 		
+		// shortest cloudlet first
+		ReadyQueue sortQueue = new ReadyQueue(ReadyQueue.ORDER.SJF);
 		for(Cloudlet cloudlet: getCloudletList())
-		{
-			tempList.add(cloudlet);
-		}
-		
-		int totalCloudlets= tempList.size();
-		
-		
-		for(int i=0;i<totalCloudlets;i++)
-		{
-	
-			Cloudlet smallestCloudlet= tempList.get(0);
-			for(Cloudlet checkCloudlet: tempList)
-			{
-				if(smallestCloudlet.getCloudletLength()>checkCloudlet.getCloudletLength())
-				{
-					smallestCloudlet= checkCloudlet;
-					}
-				}
-				sortList.add(smallestCloudlet);
-				tempList.remove(smallestCloudlet);
-				
-		}
-		
-		int count=1;
-		
-		for(Cloudlet printCloudlet: sortList)
-		{
-			Log.printLine(count+".Cloudlet Id:"+printCloudlet.getCloudletId()+",Cloudlet Length:"+printCloudlet.getCloudletLength());
-		    count++;
-		}
-		
+			sortQueue.add((Task)cloudlet);
+		List <Cloudlet> sortList= new ArrayList<Cloudlet>(sortQueue.size());
+		while(!sortQueue.isEmpty())
+			sortList.add(sortQueue.poll());
+		Set<Cloudlet> postponed = new LinkedHashSet<Cloudlet>(sortList);
 		
 		for (Cloudlet cloudlet : sortList) {
 			Vm vm;
@@ -135,16 +123,58 @@ public class MobileDeviceManager extends DatacenterBroker {
 			sendNow(getVmsToDatacentersMap().get(vm.getId()), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
 			cloudletsSubmitted++;
 			vmIndex = (vmIndex + 1) % getVmsCreatedList().size();
-			getCloudletSubmittedList().add(cloudlet);
+			dequeue(cloudlet);
+			postponed.remove(cloudlet);
 		}
 
-		// remove submitted cloudlets from waiting list
-		for (Cloudlet cloudlet : getCloudletSubmittedList()) {
-			getCloudletList().remove(cloudlet);
-		}
+		// only the postponed cloudlets keep waiting
+		getCloudletList().clear();
+		getCloudletList().addAll(postponed);
 		
 	}
 	
+	private void enqueue(Task task) {
+		readyHandles.put(task.getCloudletId(), readyQueue.add(task));
+	}
+	
+	private void dequeue(Cloudlet cloudlet) {
+		ReadyQueue.Handle handle = readyHandles.remove(cloudlet.getCloudletId());
+		if(handle != null)
+			readyQueue.remove(handle);
+	}
+	
+	public int getNumOfPendingTasks() {
+		return readyQueue.size();
+	}
+	
+	public int getNumOfSubmittedTasks() {
+		return cloudletsSubmitted;
+	}
+	
+	public int getNumOfReturnedTasks() {
+		return cloudletsReturned;
+	}
+	
+	/*
+	 * a datacenter looks VMs up by their owner, so a task redirected to the region
+	 * of another manager is owned by that manager, which also receives its result
+	 */
+	private void bindToVm(Task task, EdgeVM vm) {
+		task.setVmId(vm.getId());
+		task.setUserId(vm.getUserId());
+	}
+	
+	/*
+	 * schedules the waiting tasks once the batch window passes,
+	 * tasks arriving in the meantime join the same dispatch
+	 */
+	private void requestDispatch() {
+		if(dispatchPending || readyQueue.isEmpty())
+			return;
+		dispatchPending = true;
+		schedule(getId(), SimSettings.getInstance().getDispatchBatchWindow(), DISPATCH_READY_TASKS);
+	}
+	
 	/**
 	 * Process a cloudlet return event.
 	 * 
@@ -155,6 +185,13 @@ public class MobileDeviceManager extends DatacenterBroker {
 	protected void processCloudletReturn(SimEvent ev) {
 		NetworkModel networkModel = SimManager.getInstance().getNetworkModel();
 		Task task = (Task) ev.getData();
+		cloudletsReturned++;
+		
+		// the VM has capacity again, waiting tasks may fit now; a task redirected
+		// to this region returns here, so the manager which dispatched it is told too
+		requestDispatch();
+		if(task.getBrokerId() != -1 && task.getBrokerId() != getId())
+			((MobileDeviceManager) CloudSim.getEntity(task.getBrokerId())).requestDispatch();
 
 		Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock());
 		//if(task.getSubmittedLocation().equals(currentLocation))
@@ -264,6 +301,7 @@ public class MobileDeviceManager extends DatacenterBroker {
 				//}
 				
 				submitTaskToEdgeDevice(task,(internalDelay+amx++));
+				requestDispatch();
 				
 				break;
 			}
@@ -276,9 +314,16 @@ public class MobileDeviceManager extends DatacenterBroker {
 				
 				submitTaskToEdgeDevice(task,0);
 				//edgeCloudSimDefaultScheduling(task,0);
+				requestDispatch();
 				
 				break;
 			}
+			case DISPATCH_READY_TASKS:
+			{
+				dispatchPending = false;
+				taskScheduling();
+				break;
+			}
 			case RESPONSE_RECEIVED_BY_MOBILE_DEVICE:
 			{
 				Task task = (Task) ev.getData();
@@ -295,7 +340,7 @@ public class MobileDeviceManager extends DatacenterBroker {
 				
 				if(task.getFinishTime()>(task.getDeadLine()+task.getSubmissionTime())) {
 					
-					SimLogger.getInstance().setDlMisCounter(dlMisCounter++);
+					SimLogger.getInstance().incrementDlMisCounter();
 			
 				}
 								
@@ -309,129 +354,28 @@ public class MobileDeviceManager extends DatacenterBroker {
 		}
 	}
 	
-	//function created for scheduling
-	public void taskSchedulingSJF() {
-		
-		SimLogger.printLine(" I am in SJF function");
-		int vmIndex = 0;
-		List <Cloudlet> sortList= new ArrayList<Cloudlet>();
-		
-		ArrayList<Cloudlet> tempList = new ArrayList<Cloudlet>();
-		
-		for(Cloudlet cloudlet: getCloudletList())
-		{
-			tempList.add(cloudlet);
-		}
-		
-		int totalCloudlets= tempList.size();
-		
-		
-		//sorting the tasks from smaller to larger
-		for(int i=0;i<totalCloudlets;i++)
-		{
-	
-			Cloudlet smallestCloudlet= tempList.get(0);
-			for(Cloudlet checkCloudlet: tempList)
-			{
-				if(smallestCloudlet.getCloudletLength()>checkCloudlet.getCloudletLength())
-				{
-					smallestCloudlet= checkCloudlet;
-					}
-				}
-				sortList.add(smallestCloudlet);
-				tempList.remove(smallestCloudlet);
-				
-		}
-		
-		int count=1;
-		
-		for(Cloudlet printCloudlet: sortList)
-		{
-			SimLogger.printLine(count+".Cloudlet Id:"+printCloudlet.getCloudletId()+",Cloudlet Length:"+printCloudlet.getCloudletLength());
-		    count++;
-		}
-		
-		//sortList is the sorted list
-		for (Cloudlet cloudlet : sortList) {
-			Vm vm;
-			Task task = (Task)cloudlet;
-			
-			
-			if (cloudlet.getVmId() == -1) {
-				vm = getVmsCreatedList().get(vmIndex);
-			} else { // submit to the specific vm
-				vm = SimManager.getInstance().getEdgeOrchestrator().getVmToOffload(task);
-				if (vm == null) { // vm was not created
-					Log.printLine(CloudSim.clock() + ": " + getName() + ": Postponing execution of cloudlet "
-							+ cloudlet.getCloudletId() + ": bount VM not available");
-					continue;
-				}
-			}
-
-			
-			
-			EdgeVM selectedVM = SimManager.getInstance().getEdgeOrchestrator().getVmToOffload(task);
-			bindCloudletToVm(cloudlet.getCloudletId(),selectedVM.getId());
-			schedule(getVmsToDatacentersMap().get(task.getVmId()), task.getTaskDelay(), CloudSimTags.CLOUDLET_SUBMIT, task);
-		    
-			cloudletsSubmitted++;
-			vmIndex = (vmIndex + 1) % getVmsCreatedList().size();
-			getCloudletSubmittedList().add(task);
-			
-			
-			SimLogger.getInstance().uploaded(task.getCloudletId(),
-					selectedVM.getHost().getDatacenter().getId(),
-					selectedVM.getHost().getId(),
-					selectedVM.getId(),
-					selectedVM.getVmType().ordinal(),
-					CloudSim.clock());
-		
-		}
-
-		// remove submitted cloudlets from waiting list
-		for (Cloudlet cloudlet : getCloudletSubmittedList()) {
-			getCloudletList().remove(cloudlet);
-		}
-		
-	
-	
-	}
-	
-	
-	public void taskSchedulingFCFS() {
-		int vmIndex = 0;
-		
-		SimLogger.printLine(" I am in FCFS function");
-		int count=1;
-		for(Cloudlet printCloudlet: getCloudletList())
-		{
-			SimLogger.printLine(count+".Cloudlet Id:"+printCloudlet.getCloudletId()+",Cloudlet Length:"+printCloudlet.getCloudletLength());
-		    count++;
+	/*
+	 * schedules the waiting tasks in the order of the scheduling policy (FCFS, SJF, EDF or LLF),
+	 * tasks which do not get a VM wait for the next round
+	 */
+	public void taskScheduling() {
+		// the waiting tasks are assigned jointly against the same model snapshot, the results are applied in policy order
+		List<Task> tasks = new ArrayList<Task>(readyQueue.size());
+		while(!readyQueue.isEmpty()) {
+			Task task = readyQueue.poll();
+			readyHandles.remove(task.getCloudletId());
+			tasks.add(task);
 		}
+		List<OrchestrationResult> results = SimManager.getInstance().getEdgeOrchestrator().assignBatch(tasks);
 		
-		for (Cloudlet cloudlet : getCloudletList()) {
-			Vm vm;
-			Task task = (Task)cloudlet;
-			if (cloudlet.getVmId() == -1) {
-			vm = getVmsCreatedList().get(vmIndex);
-			} else { // submit to the specific vm
-				vm = SimManager.getInstance().getEdgeOrchestrator().getVmToOffload(task);
-				if (vm == null) { // vm was not created
-					SimLogger.printLine(CloudSim.clock() + ": " + getName() + ": Postponing execution of cloudlet "
-							+ cloudlet.getCloudletId() + ": bount VM not available");
-					continue;
-				}
-			}
-
-			EdgeVM selectedVM = SimManager.getInstance().getEdgeOrchestrator().getVmToOffload(task);
+		for (int taskIndex = 0; taskIndex < tasks.size(); taskIndex++) {
+			Task task = tasks.get(taskIndex);
+			EdgeVM selectedVM = results.get(taskIndex).getVm();
 			if(selectedVM != null) {
-				bindCloudletToVm(cloudlet.getCloudletId(),selectedVM.getId());
-				schedule(getVmsToDatacentersMap().get(task.getVmId()), task.getTaskDelay(), CloudSimTags.CLOUDLET_SUBMIT, task);
+				bindToVm(task, selectedVM);
+				schedule(selectedVM.getHost().getDatacenter().getId(), task.getTaskDelay(), CloudSimTags.CLOUDLET_SUBMIT, task);
 				    
 				cloudletsSubmitted++;
-				vmIndex = (vmIndex + 1) % getVmsCreatedList().size();
-				getCloudletSubmittedList().add(task);
-					
 					
 				SimLogger.getInstance().uploaded(task.getCloudletId(),
 						selectedVM.getHost().getDatacenter().getId(),
@@ -441,18 +385,9 @@ public class MobileDeviceManager extends DatacenterBroker {
 						CloudSim.clock());
 			}
 			else {
-				int tsize = SimManager.getInstance().getEdgeOrchestrator().getTempListSize();
-				Task t = SimManager.getInstance().getEdgeOrchestrator().getElementTempList(0);
-			    int svm = SimUtils.getRandomNumber(0, 8);
-								
-				SimLogger.getInstance().rejectedDueToVMCapacity(task.getCloudletId(), CloudSim.clock(), task.getDc());
-				
-			   }
+				SimLogger.getInstance().postponedDueToVMCapacity(task.getCloudletId(), CloudSim.clock());
+				enqueue(task);
 			}
-
-			// remove submitted cloudlets from waiting list
-		for (Cloudlet cloudlet : getCloudletSubmittedList()) {
-			getCloudletList().remove(cloudlet);
 		}
 			
 	}
@@ -467,13 +402,11 @@ public class MobileDeviceManager extends DatacenterBroker {
 			//save related host id
 			task.setAssociatedHostId(selectedVM.getHost().getId());
 
-		    //bind task to related VM
-			getCloudletList().add(task);
-			//SimLogger.printLine(" Cloudlet list length "+getCloudletList().size());			
-			
-			bindCloudletToVm(task.getCloudletId(),selectedVM.getId());
+		    //bind task to related VM, it is submitted right away so it does not wait in the ready queue
+			bindToVm(task, selectedVM);
 			
-			schedule(getVmsToDatacentersMap().get(task.getVmId()), delay, CloudSimTags.CLOUDLET_SUBMIT, task);
+			schedule(selectedVM.getHost().getDatacenter().getId(), delay, CloudSimTags.CLOUDLET_SUBMIT, task);
+			cloudletsSubmitted++;
 			
 	        SimLogger.getInstance().uploaded(task.getCloudletId(),
 					selectedVM.getHost().getDatacenter().getId(),
@@ -500,9 +433,8 @@ public class MobileDeviceManager extends DatacenterBroker {
 			//save related host id
 			task.setAssociatedHostId(selectedVM.getHost().getId());
 
-		    //bind task to related VM
-			getCloudletList().add(task);
-			//SimLogger.printLine(" Cloudlet list length "+getCloudletList().size());			
+		    //the task waits in the ready queue until it is dispatched
+			enqueue(task);
 			
 			//bindCloudletToVm(task.getCloudletId(),selectedVM.getId());
 			
@@ -621,13 +553,14 @@ public class MobileDeviceManager extends DatacenterBroker {
 		
 		int taskPref = SimUtils.getRandomNumber(0, 2);
 		
-		Task task = new Task(edgeTask.mobileDeviceId,urgntF ,0.0 ,++taskIdCounter,
+		Task task = new Task(edgeTask.mobileDeviceId,urgntF ,0.0 ,SimManager.getInstance().createTaskId(),
 							edgeTask.length, edgeTask.pesNumber,
 							edgeTask.inputFileSize, edgeTask.outputFileSize,
 							utilizationModelCPU, utilizationModel, utilizationModel,taskPref,0);
 		
 		//set the owner of this task
 		task.setUserId(this.getId());
+		task.setBrokerId(this.getId());
 		task.setTaskType(edgeTask.taskType);
 		
 		return task;
@@ -0,0 +1,201 @@
+/*
+ * Title:        EdgeCloudSim - Ready Queue
+ *
+ * Description:
+ * ReadyQueue holds the tasks waiting for the scheduler in a binary heap.
+ * The key of a task is computed once when it is added:
+ * SJF uses the cloudlet length, EDF the absolute deadline and LLF the
+ * latest start time (deadline - expected execution time), which orders
+ * the tasks like their slack at any time. Any other policy keeps the
+ * arrival order. Equal keys are served in cloudlet id order.
+ * Add and poll take O(log n); a task can be removed through the handle
+ * returned by add, e.g. when it is cancelled.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_client;
+
+import java.util.Arrays;
+
+import edu.boun.edgecloudsim.utils.ETCMatrix;
+import edu.boun.edgecloudsim.utils.ModelSnapshot;
+import edu.boun.edgecloudsim.utils.SimLogger;
+
+public class ReadyQueue {
+	public enum ORDER { FCFS, SJF, EDF, LLF }
+
+	/*
+	 * position of a task in the queue, -1 once it left
+	 */
+	public static final class Handle {
+		private final Task task;
+		private final double key;
+		private int index;
+
+		private Handle(Task _task, double _key) {
+			task = _task;
+			key = _key;
+		}
+
+		public Task getTask() {
+			return task;
+		}
+
+		public boolean isQueued() {
+			return index != -1;
+		}
+	}
+
+	private final ORDER order;
+	private Handle[] heap = new Handle[16];
+	private int size = 0;
+
+	public ReadyQueue(ORDER _order) {
+		order = _order;
+	}
+
+	/*
+	 * order of a scheduling policy name, FCFS if the name is not an ordering policy
+	 */
+	public static ORDER getOrder(String policy) {
+		for(ORDER candidate : ORDER.values())
+			if(candidate.name().equalsIgnoreCase(policy.trim()))
+				return candidate;
+		return ORDER.FCFS;
+	}
+
+	public ORDER getOrder() {
+		return order;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public Handle add(Task task) {
+		Handle handle = new Handle(task, keyOf(task));
+		if(size == heap.length)
+			heap = Arrays.copyOf(heap, size * 2);
+		heap[size] = handle;
+		handle.index = size;
+		size++;
+		siftUp(handle.index);
+		return handle;
+	}
+
+	//task served next, null if the queue is empty
+	public Task peek() {
+		return size == 0 ? null : heap[0].task;
+	}
+
+	//removes the task served next, null if the queue is empty
+	public Task poll() {
+		if(size == 0)
+			return null;
+		Handle first = heap[0];
+		removeAt(0);
+		return first.task;
+	}
+
+	//false if the task already left the queue
+	public boolean remove(Handle handle) {
+		if(handle.index == -1)
+			return false;
+		removeAt(handle.index);
+		return true;
+	}
+
+	public void clear() {
+		for(int i=0; i<size; i++) {
+			heap[i].index = -1;
+			heap[i] = null;
+		}
+		size = 0;
+	}
+
+	private double keyOf(Task task) {
+		switch(order) {
+		case SJF:
+			return task.getCloudletLength();
+		case EDF:
+			return task.getDeadLine();
+		case LLF:
+			return task.getDeadLine() - getExpectedExecutionTime(task);
+		default:
+			return 0;
+		}
+	}
+
+	//mean ETC of the task type over all base stations, 0 if nothing is known yet
+	private static double getExpectedExecutionTime(Task task) {
+		ModelSnapshot model = SimLogger.getInstance().getModel();
+		if(model == null)
+			return 0;
+		ETCMatrix etc = model.getETCMatrix();
+		int taskType = task.getTaskType().ordinal();
+		double sum = 0;
+		for(int dc=0; dc<etc.getDataCnum(); dc++)
+			sum += etc.getMu(dc, taskType);
+		return etc.getDataCnum() == 0 ? 0 : sum / etc.getDataCnum();
+	}
+
+	private void removeAt(int index) {
+		Handle removed = heap[index];
+		size--;
+		if(index != size) {
+			Handle moved = heap[size];
+			heap[index] = moved;
+			moved.index = index;
+			heap[size] = null;
+			siftDown(index);
+			siftUp(moved.index);
+		}
+		else {
+			heap[size] = null;
+		}
+		removed.index = -1;
+	}
+
+	private boolean less(Handle a, Handle b) {
+		if(a.key != b.key)
+			return a.key < b.key;
+		return a.task.getCloudletId() < b.task.getCloudletId();
+	}
+
+	private void siftUp(int index) {
+		Handle handle = heap[index];
+		while(index > 0) {
+			int parent = (index - 1) >>> 1;
+			if(!less(handle, heap[parent]))
+				break;
+			heap[index] = heap[parent];
+			heap[index].index = index;
+			index = parent;
+		}
+		heap[index] = handle;
+		handle.index = index;
+	}
+
+	private void siftDown(int index) {
+		Handle handle = heap[index];
+		int half = size >>> 1;
+		while(index < half) {
+			int child = 2 * index + 1;
+			if(child + 1 < size && less(heap[child + 1], heap[child]))
+				child++;
+			if(!less(heap[child], handle))
+				break;
+			heap[index] = heap[child];
+			heap[index].index = index;
+			index = child;
+		}
+		heap[index] = handle;
+		handle.index = index;
+	}
+}
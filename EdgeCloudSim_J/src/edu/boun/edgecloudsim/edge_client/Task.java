@@ -24,6 +24,8 @@ public class Task extends Cloudlet {
 	private int hostIndex;
 	private double deadLine;
 	private int dc;
+	private int receivingDc = -1; // base station closest to the device when the task was created
+	private int brokerId = -1; // device manager which created the task and dispatches it
 	private double arrivalTime;
 	private int urgentFlage;
 	private int taskPref; // task preference, cpu = 0, gpu = 1, memory = 3
@@ -135,4 +137,24 @@ public class Task extends Cloudlet {
 	public void setDc(int dc) {
 		this.dc = dc;
 	}
+
+
+	public int getReceivingDc() {
+		return receivingDc;
+	}
+
+
+	public void setReceivingDc(int receivingDc) {
+		this.receivingDc = receivingDc;
+	}
+
+
+	public int getBrokerId() {
+		return brokerId;
+	}
+
+
+	public void setBrokerId(int brokerId) {
+		this.brokerId = brokerId;
+	}
 }
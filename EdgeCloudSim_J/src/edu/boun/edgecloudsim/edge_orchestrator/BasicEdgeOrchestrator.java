@@ -17,11 +17,13 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 
-import org.apache.commons.math3.distribution.NormalDistribution;
-import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
 import org.cloudbus.cloudsim.Datacenter;
@@ -36,25 +38,50 @@ import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
+import edu.boun.edgecloudsim.edge_server.VmCapacityIndex;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
 import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.utils.ConvolutionTable;
+import edu.boun.edgecloudsim.utils.DatacenterRanking;
 import edu.boun.edgecloudsim.utils.ETCMatrix;
-import edu.boun.edgecloudsim.utils.ETTMatrix;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.LocationIndex;
+import edu.boun.edgecloudsim.utils.ModelSnapshot;
+import edu.boun.edgecloudsim.utils.NeighborGraph;
 import edu.boun.edgecloudsim.utils.PTCMatrix;
 import edu.boun.edgecloudsim.utils.SimLogger;
-import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	private int numberOfHost; //used by load balancer
 	@SuppressWarnings("unused")
 	private int lastSelectedHostIndex; //used by load balancer
 	private int[] lastSelectedVmIndexes; //used by each host individually
-	private static Datacenter receivingBS; // !!! IMPORTANT !!! DON'T USE THE METHOD Datacenter.getId(), it's messed up, use recBS instead if u need an index.
-	private static int recBS = -1; //Receiving DC ID
-	private static int redirectBS = 0;
 	private static String basicEdgePlociy;
-	private static ArrayList<Task> tempList = new ArrayList<Task>();
+	private final ArrayList<Task> tempList = new ArrayList<Task>(); //tasks passed over by a VM under MECT
+	
+	// updated by every decision, LongAdder keeps concurrent updates cheap
+	private static final LongAdder redirectBS = new LongAdder();
+	private static final LongAdder urgentTaskC = new LongAdder();
+	private static final LongAdder nonUrgTaskC = new LongAdder();
+	
+	private final AtomicInteger edgeCloudDC = new AtomicInteger(-1); //receiving BS of the first urgent task, used by EdgeCloud
+	
+	private CloudletSchedulerSpaceShared cloudletScheduler1;
+	
+	private ArrayListMultimap<String, Double> ptcTimes = ArrayListMultimap.create();
+	
+	// per neighbor probability and CI bounds, one set per thread so decisions can run concurrently
+	private static final ThreadLocal<double[][]> neighborScratch = new ThreadLocal<double[][]>();
+	
+	private volatile ConvolutionTable convolutionTable; //rebuilt when the model epoch changes
+	private volatile DatacenterRanking ranking; //rebuilt when the model epoch changes
+	
+	// strategies registered under their lower case config names, resolved once in initialize()
+	private final Map<String, OrchestratorPolicy> policies = new HashMap<String, OrchestratorPolicy>();
+	private final Map<String, VmSchedulingPolicy> schedulers = new HashMap<String, VmSchedulingPolicy>();
+	private OrchestratorPolicy activePolicy;
+	private VmSchedulingPolicy activeScheduler;
+	private boolean loadBalancing; //true if the scenario has an edge orchestrator
 	
 	public static String getBasicEdgePlociy() {
 		return basicEdgePlociy;
@@ -65,26 +92,23 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	}
 
 	public static int getRedirectBS() {
-		return redirectBS;
+		return redirectBS.intValue();
 	}
 
-	public static void setRedirectBS(int redirectBS) {
-		BasicEdgeOrchestrator.redirectBS = redirectBS;
+	public static void setRedirectBS(int value) {
+		redirectBS.reset();
+		redirectBS.add(value);
 	}
-
-	private static int bsIndex;
-	private static int edgeCloudDCType1 = 1, edgeCloudDCType2 = 1;
-	public static boolean flagEdge1 = false;
-	public static boolean flagEdge2 = false;
 	
-	private CloudletSchedulerSpaceShared cloudletScheduler1;
-	
-	public static int urgentTaskC = 0;
 	public static int getUrgentTaskC() {
-		return urgentTaskC;
+		return urgentTaskC.intValue();
+	}
+	
+	public static int getNonUrgTaskC() {
+		return nonUrgTaskC.intValue();
 	}
     
-	public static ArrayList<Task> getTempList(){
+	public ArrayList<Task> getTempList(){
 		return tempList;
 	}
 	
@@ -92,7 +116,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		return tempList.get(indx);
 	}
 	
-	public static void clearTemplist() {
+	public void clearTemplist() {
 		
 		tempList.clear();
 	}
@@ -101,111 +125,79 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		return tempList.size();
 	}
 	
-	public void setUrgentTaskC(int urgentTaskC) {
-		this.urgentTaskC = urgentTaskC;
-	}
-
-	public static int nonUrgTaskC = 0;
-	
-	public static int getNonUrgTaskC() {
-		return nonUrgTaskC;
-	}
-
-	public void setNonUrgTaskC(int nonUrgTaskC) {
-		this.nonUrgTaskC = nonUrgTaskC;
+	public BasicEdgeOrchestrator(String _policy, String _simScenario, String _schedAlgo) {
+		super(_policy, _simScenario,_schedAlgo);
+		
+		registerPolicy(new ProbabilityPolicy());
+		registerPolicy(new BaselinePolicy());
+		registerPolicy(new MectPolicy());
+		registerPolicy(new CertaintyPolicy());
+		registerPolicy(new EdgeCloudPolicy());
+		registerScheduler(new RoundRobinScheduler());
+		registerScheduler(new ProbabilityScheduler());
 	}
-
-	private ArrayListMultimap<String, Double> ptcTimes = ArrayListMultimap.create();
 	
-	public static int getRecBS() {
-		return recBS;
-	}
-
-	public void setRecBS(int recBS) {
-		this.recBS = recBS;
+	/*
+	 * makes a policy available under its name in orchestrator_policies
+	 */
+	public void registerPolicy(OrchestratorPolicy orchestratorPolicy) {
+		policies.put(orchestratorPolicy.getName().toLowerCase(), orchestratorPolicy);
 	}
-
-	private ArrayList<Integer> neighboringBS = new ArrayList<>(); //Neighboring BaseStations
 	
-	private static ETCMatrix matrix;
-	private static ETTMatrix ettmatrix;
-	private static PTCMatrix ptcmatrix;
-	
-	public BasicEdgeOrchestrator(String _policy, String _simScenario, String _schedAlgo) {
-		super(_policy, _simScenario,_schedAlgo);
+	/*
+	 * makes a VM scheduler available under its name in scheduling_policies
+	 */
+	public void registerScheduler(VmSchedulingPolicy scheduler) {
+		schedulers.put(scheduler.getName().toLowerCase(), scheduler);
 	}
 
 	@Override
 	public void initialize() {
 		numberOfHost=SimSettings.getInstance().getNumOfEdgeHosts();
+		loadBalancing = simScenario.equals("TWO_TIER_WITH_EO");
 		
-		if(policy.equalsIgnoreCase("EdgeCloud")) {
-			
-			setBasicEdgePlociy("EdgeCloud");
-		}
-		else if(policy.equalsIgnoreCase("MECT")) {
-			
-			setBasicEdgePlociy("MECT");
-		}
-		else if(policy.equalsIgnoreCase("Probability")) {
-		
-			setBasicEdgePlociy("Probability");
-		}
-		else if(policy.equalsIgnoreCase("Certainty")) {
-			
-			setBasicEdgePlociy("Certainty");
-		}
-		
-		if(schedAlgo.equalsIgnoreCase("RR")) {
-			
+		activePolicy = policies.get(policy.toLowerCase());
+		if(activePolicy == null) {
+			SimLogger.printLine("Unknown orchestrator policy " + policy + "! Terminating simulation...");
+			System.exit(0);
 		}
+		setBasicEdgePlociy(activePolicy.getName());
 		
+		// task ordering policies like SJF are handled by the mobile device manager,
+		// their VMs are selected by the PTC probability
+		activeScheduler = schedulers.get(schedAlgo.toLowerCase());
+		if(activeScheduler == null)
+			activeScheduler = schedulers.get("ptc");
 		
 		lastSelectedHostIndex = -1;
 		lastSelectedVmIndexes = new int[numberOfHost];
 		for(int i=0; i<numberOfHost; i++)
 			lastSelectedVmIndexes[i] = -1;
-	}
-	
-	
-	
-	
-	
-	private static double getConvolveProbability(double mu, double sigma, double deadLine) {
 		
-		try {
-		NormalDistribution distr = new NormalDistribution(mu, sigma);
-		return distr.cumulativeProbability(deadLine);
-		}catch(NotStrictlyPositiveException exc) {
-			return 0.0;
-		}
-	
+		// nothing is carried over from a previous run
+		redirectBS.reset();
+		urgentTaskC.reset();
+		nonUrgTaskC.reset();
+		edgeCloudDC.set(-1);
+		tempList.clear();
 	}
 	
-
+	
 	@Override
 	public int getDeviceToOffload(Task task) {
 		
 		int result = SimSettings.GENERIC_EDGE_DEVICE_ID;
-		matrix = SimLogger.getInstance().matrix;
-		double dl = 0.0;
 		
 		
 			if(task.getUrgentFlage()== 0) {
 				result = SimSettings.CLOUD_DATACENTER_ID;
-				nonUrgTaskC++;
-				setNonUrgTaskC(nonUrgTaskC);
+				nonUrgTaskC.increment();
 			}
 			else {
 				
-				if(policy.equalsIgnoreCase("EdgeCloud")) {
+				result = activePolicy.getOffloadDestination();
 				
-					result = SimSettings.EDGE_ORCHESTRATOR_ID;
-				}
-				else result = SimSettings.GENERIC_EDGE_DEVICE_ID;
-				
-				urgentTaskC++;
-				setUrgentTaskC(urgentTaskC);
+				urgentTaskC.increment();
 				/* Calculate the location of receiving Base Station
 				 * the closest one to the device(vehicle)
 				 */
@@ -214,37 +206,18 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				int xdev = deviceLoc.getXPos();// mobile device x position
 				int ydev = deviceLoc.getYPos();// mobile device y position
 				
-			
-				List<Datacenter> datacenters = SimManager.getInstance().edgeServerManager.getDatacenterList();
-				
-				double best = 1000;
-		
-				for(int i = 0; i < datacenters.size(); i++) {
-					List<EdgeHost> hostlist = datacenters.get(i).getHostList();
-															
-					for(EdgeHost host : hostlist) {
-						Location hostLocation = host.getLocation();
-						int xhost = hostLocation.getXPos(); // Edge system x position
-						int yhost = hostLocation.getYPos();// Edge System y position
-						double dist = Math.sqrt((Math.pow((double)xdev-xhost, 2))+ (Math.pow((double)ydev-yhost, 2)));
-						if (dist <= best) {
-							best = dist;
-							setReceivingBS(datacenters.get(i));
-							recBS = i;
-							task.setDc(i);
-							dl = SimManager.getInstance().getEdgeOrchestrator().deadline(task, matrix, 0.0001,recBS);
-							}
-						}
-					}
-				
-				if(policy.equalsIgnoreCase("EdgeCloud")) {
-					
-					if (flagEdge1 == false) {
-						
-						edgeCloudDCType1 = recBS;
-						flagEdge1 = true;
-					}
-				
+				// closest host within 1000 units, the closest one at all if none is that close,
+				// the deadline is only computed for it
+				LocationIndex hostLocations = SimManager.getInstance().edgeServerManager.getHostLocations();
+				int closest = hostLocations.nearest(xdev, ydev, 1000);
+				if(closest == -1)
+					closest = hostLocations.nearest(xdev, ydev, Double.MAX_VALUE);
+				if(closest != -1) {
+					int dc = hostLocations.getDatacenter(closest);
+					task.setReceivingDc(dc);
+					task.setDc(dc);
+					deadline(task, getConvolutionTable(SimLogger.getInstance().getModel()), 0.0001, dc);
+					activePolicy.received(task, dc);
 				}
 				
 			}
@@ -253,73 +226,79 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	}
 	
 	@Override
-	public EdgeVM getVmToOffload(Task task) {
-		if(simScenario.equals("TWO_TIER_WITH_EO")) {
+	public OrchestrationResult decide(OrchestrationContext context) {
+		if(loadBalancing) {
 
-			return selectVmOnLoadBalancer(task);
+			return selectVmOnLoadBalancer(context);
 	
 		}
 		else
-			return selectVmOnHost(task);
+			return new OrchestrationResult(context, selectVmOnHost(context), -1, false, -1, 0);
+	}
+	
+	@Override
+	public void apply(OrchestrationResult result) {
+		Task task = result.getTask();
+		
+		if(result.isAssignDatacenter())
+			task.setDc(result.getDatacenter());
+		if(result.isRedirected())
+			redirectBS.increment();
+		if(result.getVmPosition() != -1)
+			lastSelectedVmIndexes[result.getDatacenter()] = result.getVmPosition();
+		
+		if(loadBalancing)
+			activePolicy.applied(result);
+	}
+	
+	/*
+	 * round robin moves on from the last selected VM, so its decisions
+	 * depend on the ones applied before them
+	 */
+	@Override
+	public boolean isParallelSafe() {
+		return !loadBalancing || (activePolicy.isParallelSafe() && !activeScheduler.isPositionKept());
+	}
+	
+	private int getEdgeCloudDC() {
+		int dc = edgeCloudDC.get();
+		return dc == -1 ? 1 : dc;
 	}
 	
 	
 	public static int availableVM(int selecDC, Task task) {
 		
-		
-		Datacenter dc = SimManager.getInstance().edgeServerManager.getDatacenterList().get(selecDC);
-		int avVM = 0;
-		List<EdgeVM> vmArrList = dc.getVmList();
-		
-		for(int vmIndex=0; vmIndex<vmArrList.size(); vmIndex++){
-			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArrList.get(vmIndex).getVmType());
-			double targetVmCapacity = (double)100 - vmArrList.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-			
-			if(requiredCapacity <= targetVmCapacity){
-
-				avVM++;
-				
-			}
-		}
-		
-		return avVM;
+		return getVmCapacityIndex().count(selecDC, requiredCapacity(task));
+	}
+	
+	/*
+	 * CPU capacity (%) the task needs on an edge VM
+	 */
+	private static double requiredCapacity(Task task) {
+		return ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(SimSettings.VM_TYPES.EDGE_VM);
+	}
+	
+	private static VmCapacityIndex getVmCapacityIndex() {
+		return SimManager.getInstance().edgeServerManager.getVmCapacityIndex();
 	}
 	
 	/*
 	 * The base case policy;
 	 */
 	
-	public EdgeVM selectVmOnHost(Task task){
-		
-		EdgeVM selectedVM = null;
-		List<EdgeVM> vmArray = receivingBS.getVmList();
+	public EdgeVM selectVmOnHost(OrchestrationContext context){
 		
-		for(int i = 0; i < vmArray.size(); i++) {
-			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(i).getVmType());
-			double targetVmCapacity = (double)100 - vmArray.get(i).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-			if(requiredCapacity <= targetVmCapacity)
-				selectedVM = vmArray.get(i);
-			}
-
-		
-		return selectedVM;
+		// last VM of the receiving BS that fits
+		return getVmCapacityIndex().lastFit(context.getReceivingDc(), requiredCapacity(context.getTask()));
 	}
 	
 	
 	public EdgeVM selectVmOnCloudHost(Task task){
 			
 		EdgeVM selectedVM = null;
-		for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++){
-			List<EdgeVM> vmArray = SimManager.getInstance().getLocalServerManager().getVmList(hostIndex);
-			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-				
-				if(requiredCapacity <= targetVmCapacity){
-					selectedVM = vmArray.get(vmIndex);
-					break;
-				}
-			}
+		// first VM that fits on the last host which has one
+		for(int hostIndex=numberOfHost-1; hostIndex>=0 && selectedVM == null; hostIndex--){
+			selectedVM = getVmCapacityIndex().firstFitOnHost(hostIndex, requiredCapacity(task));
 		}
 
 		return selectedVM;
@@ -330,39 +309,60 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	 * Load Balancer Policy;
 	 */
 
-	public EdgeVM selectVmOnLoadBalancer(Task task){
-		EdgeVM selectedVM = null;
+	public OrchestrationResult selectVmOnLoadBalancer(OrchestrationContext context){
 		
-		if(policy.equalsIgnoreCase("Probability")) {
-			
-				getNeighbors(task);
-				selectedVM  = getDC(task);
-						
+		return activePolicy.select(context);
+		
+	}
+	
+	/*
+	 * keeps the task on the receiving BS if no neighbor is more likely to meet the deadline
+	 */
+	private final class ProbabilityPolicy extends OrchestratorPolicy {
+		ProbabilityPolicy() {
+			super("Probability");
 		}
-		else if(policy.equalsIgnoreCase("Baseline")){
-		
-			List<EdgeVM> vmArray =  receivingBS.getVmList();
-			for(int i = 0; i < vmArray.size(); i++) {
-				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(i).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(i).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-				if(requiredCapacity <= targetVmCapacity)
-					selectedVM = vmArray.get(i);
-			}
-			
+		
+		@Override
+		public OrchestrationResult select(OrchestrationContext context) {
+			return getDC(context);
 		}
-		else if(policy.equalsIgnoreCase("MECT")) {
-			
-			Datacenter dcM = SimManager.getInstance().edgeServerManager.getDatacenterList().get(getMectDC(task));
-			
-			if(recBS != getMectDC(task)) {
-				redirectBS++;
-				setRedirectBS(redirectBS);
-		     }
-			
+	}
+	
+	/*
+	 * the receiving BS runs the task
+	 */
+	private final class BaselinePolicy extends OrchestratorPolicy {
+		BaselinePolicy() {
+			super("Baseline");
+		}
+		
+		@Override
+		public OrchestrationResult select(OrchestrationContext context) {
+			EdgeVM selectedVM = getVmCapacityIndex().lastFit(context.getReceivingDc(), requiredCapacity(context.getTask()));
+			return new OrchestrationResult(context, selectedVM, -1, false, -1, 0);
+		}
+	}
+	
+	/*
+	 * the BS with the minimum expected completion time runs the task,
+	 * VMs with long queues pass it to the temporary pool
+	 */
+	private final class MectPolicy extends OrchestratorPolicy {
+		MectPolicy() {
+			super("MECT");
+		}
+		
+		@Override
+		public OrchestrationResult select(OrchestrationContext context) {
+			Task task = context.getTask();
+			int mectDC = getMectDC(context);
+			EdgeVM selectedVM = null;
+			int skipped = 0;
 			
-			List<EdgeVM> vmArrayMect = dcM.getVmList();
-		    //tempList = new ArrayList<EdgeVM>();
+			List<EdgeVM> vmArrayMect = SimManager.getInstance().edgeServerManager.getDatacenterList().get(mectDC).getVmList();
 			
+			// VMs passed over join the temporary pool when the result is applied
 			for(int i = 0; i < vmArrayMect.size(); i++) {
 				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArrayMect.get(i).getVmType());
 				double targetVmCapacity = (double)100 - vmArrayMect.get(i).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
@@ -370,72 +370,126 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				//System.out.println(" requiredCapacity : "+ requiredCapacity + "  targetVmCapacity  :"+ targetVmCapacity);
 				if(requiredCapacity <= targetVmCapacity && vmArrayMect.get(i).getQueueSize()<8){
 					selectedVM = vmArrayMect.get(i);
-					selectedVM.allocateTasktoQue(task);
-					System.out.println(" VM "+selectedVM.getId()+" current quesize "+selectedVM.getQueueSize());
 					break;
 				}
-				else {
-					tempList.add(task);
-					//selectedVM = null;
-					System.out.println(" Temp list current size "+tempList.size());
-					System.out.println(" Task "+task.getCloudletId() +" has added to the temporary pool");
-				}
-								
+				skipped++;
 			}
 			
-			//if(selectedVM!=null)
-				//System.out.println(" MECT selected vm id " + selectedVM.getId() + " MECT selected vm host "+ selectedVM.getHost().getId());
-			
+			return new OrchestrationResult(context, selectedVM, mectDC, false, -1, skipped);
 		}
-		else if(policy.equalsIgnoreCase("Certainty")) {
-			
-			Datacenter DCC = SimManager.getInstance().edgeServerManager.getDatacenterList().get(getCertainityDC(task));
-			
-			if(recBS != getCertainityDC(task)) {
-				redirectBS++;
-				setRedirectBS(redirectBS);
-		     }
-			
-			List<EdgeVM> vmArrayCert = DCC.getVmList();
-			
-			for(int i = 0; i < vmArrayCert.size(); i++) {
-				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArrayCert.get(i).getVmType());
-				double targetVmCapacity = (double)100 - vmArrayCert.get(i).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-				if(requiredCapacity <= targetVmCapacity) {
-					selectedVM = vmArrayCert.get(i);
-					}
-			}
-			
-			
+		
+		@Override
+		public void applied(OrchestrationResult result) {
+			Task task = result.getTask();
+			for(int i = 0; i < result.getSkippedVms(); i++)
+				tempList.add(task);
+			if(result.getVm() != null)
+				result.getVm().allocateTasktoQue(task);
 		}
-		else if(policy.equalsIgnoreCase("EdgeCloud")) {
-			int avVM = 0;
-			Datacenter eDC = SimManager.getInstance().edgeServerManager.getDatacenterList().get(edgeCloudDCType1);
-			
-			List<EdgeVM> vmArray = eDC.getVmList();
-			
-			//System.out.println(" vm array size "+vmArray.size());
+		
+		// the VM queues are filled when a result is applied
+		@Override
+		public boolean isParallelSafe() {
+			return false;
+		}
+	}
+	
+	/*
+	 * the BS with the largest gap between deadline and ETC mean runs the task
+	 */
+	private final class CertaintyPolicy extends OrchestratorPolicy {
+		CertaintyPolicy() {
+			super("Certainty");
+		}
+		
+		@Override
+		public OrchestrationResult select(OrchestrationContext context) {
+			int certainityDC = getCertainityDC(context);
+			EdgeVM selectedVM = getVmCapacityIndex().lastFit(certainityDC, requiredCapacity(context.getTask()));
+			return new OrchestrationResult(context, selectedVM, certainityDC, false, -1, 0);
+		}
+	}
+	
+	/*
+	 * every urgent task goes through the edge orchestrator to the BS
+	 * which received the first one
+	 */
+	private final class EdgeCloudPolicy extends OrchestratorPolicy {
+		EdgeCloudPolicy() {
+			super("EdgeCloud");
+		}
+		
+		@Override
+		public OrchestrationResult select(OrchestrationContext context) {
+			int edgeCloudDC = getEdgeCloudDC();
+			EdgeVM selectedVM = getVmCapacityIndex().lastFit(edgeCloudDC, requiredCapacity(context.getTask()));
+			return new OrchestrationResult(context, selectedVM, -1, false, -1, 0);
+		}
+		
+		@Override
+		public void received(Task task, int datacenter) {
+			// the first urgent task pins the base station of EdgeCloud
+			edgeCloudDC.compareAndSet(-1, datacenter);
+		}
+		
+		@Override
+		public int getOffloadDestination() {
+			return SimSettings.EDGE_ORCHESTRATOR_ID;
+		}
+	}
+	
+	/*
+	 * next VM that fits after the last selected one
+	 */
+	private final class RoundRobinScheduler extends VmSchedulingPolicy {
+		RoundRobinScheduler() {
+			super("RR");
+		}
+		
+		@Override
+		public int selectVm(OrchestrationContext context, int datacenter, double deadline, double datacenterProbability) {
+			return getVmCapacityIndex().nextFit(datacenter, lastSelectedVmIndexes[datacenter], requiredCapacity(context.getTask()));
+		}
+		
+		@Override
+		public boolean isPositionKept() {
+			return true;
+		}
+	}
+	
+	/*
+	 * first VM at least as likely as the BS to meet the deadline, or of the preferred category
+	 */
+	private final class ProbabilityScheduler extends VmSchedulingPolicy {
+		ProbabilityScheduler() {
+			super("PTC");
+		}
+		
+		@Override
+		public int selectVm(OrchestrationContext context, int datacenter, double deadline, double datacenterProbability) {
+			Task task = context.getTask();
+			PTCMatrix ptcmatrix = context.getModel().getPTCMatrix();
+			List<EdgeVM> vmArray = SimManager.getInstance().edgeServerManager.getDatacenterList().get(datacenter).getVmList();
 			
-			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+			for(int j = 0; j < vmArray.size(); j++) {
 				
-				if(requiredCapacity <= targetVmCapacity){
-					selectedVM = vmArray.get(vmIndex);
-					avVM++;
-					//break;
-				}
+				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(j).getVmType());
+				double targetVmCapacity = (double)100 - vmArray.get(j).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+
+				double ptcProb = ptcmatrix.getProbability(datacenter, vmArray.get(j).getId(), task.getTaskType().ordinal(), deadline);
 				
-			}
-			
+				//System.out.println(" ptc Loacl prob : "+ptcProb+" datacenter prob : "+ datacenterProbability);
 				
-			int vc = SimUtils.getRandomNumber(0, vmArray.size()-1);
-					
+				if(ptcProb > datacenterProbability || (ptcProb == datacenterProbability || task.getTaskPref() == vmArray.get(j).getVmChategory())){
+								
+					if(requiredCapacity <= targetVmCapacity) {
+						return j;
+					}
 					
+				}
+			}
+			return -1;
 		}
-		
-		return selectedVM;
-		
 	}
 	
 	
@@ -458,14 +512,26 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	
 	public double deadline(Task task, ETCMatrix b, double slack, int targetBS) {
 		
-		double comDelay = SimManager.getInstance().getNetworkModel().getUploadDelay(task.getMobileDeviceId(), targetBS ,task.getCloudletFileSize()) + 
-							SimManager.getInstance().getNetworkModel().getDownloadDelay(targetBS, task.getMobileDeviceId(), task.getCloudletFileSize());
-		double submissionTime = task.getSubmissionTime();
 		double avgMu = 0;
 		for(int i = 0; i < b.getDataCnum(); i++) {
 			avgMu += b.getMu(i, task.getTaskType().ordinal());
 		}
-		double avgMuAll = avgMu/b.getDataCnum();
+		return deadline(task, avgMu/b.getDataCnum(), slack, targetBS);
+	}
+	
+	/*
+	 * Same as above, the mean ETC of the task type is taken from the table
+	 */
+	public double deadline(Task task, ConvolutionTable table, double slack, int targetBS) {
+		
+		return deadline(task, table.getAverageMu(task.getTaskType().ordinal()), slack, targetBS);
+	}
+	
+	private double deadline(Task task, double avgMuAll, double slack, int targetBS) {
+		
+		double comDelay = SimManager.getInstance().getNetworkModel().getUploadDelay(task.getMobileDeviceId(), targetBS ,task.getCloudletFileSize()) + 
+							SimManager.getInstance().getNetworkModel().getDownloadDelay(targetBS, task.getMobileDeviceId(), task.getCloudletFileSize());
+		double submissionTime = task.getSubmissionTime();
 		double beta = 1.0;
 		double alpha = 1.0;
 		double deadline =  (beta*avgMuAll)+ slack + submissionTime + alpha*comDelay;
@@ -473,57 +539,56 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		return deadline;
 	}
 	
-	public EdgeVM getDC(Task task) {
+	public OrchestrationResult getDC(OrchestrationContext context) {
+		Task task = context.getTask();
+		int recBS = context.getReceivingDc();
 		EdgeVM selectedVM = null;
-		matrix = SimLogger.getInstance().matrix;
-		ettmatrix = SimLogger.getInstance().ettMatrix;
-		ptcmatrix = SimLogger.getInstance().ptcMatrix;
+		int selectedPosition = -1;
+		int bsIndex = 0;
+		// read all matrices from the same checkpoint
+		ModelSnapshot model = context.getModel();
+		ETCMatrix matrix = model.getETCMatrix();
+		PTCMatrix ptcmatrix = model.getPTCMatrix();
+		ConvolutionTable conv = getConvolutionTable(model);
+		int taskType = task.getTaskType().ordinal();
 		
 	    double dl1 = 0.0;
-		double dl = SimManager.getInstance().getEdgeOrchestrator().deadline(task, matrix, 0.0001,recBS);
-		double bestProb = matrix.getProbability(recBS, task.getTaskType().ordinal(), dl);
-		
-		double ciRecBS[] = getCI(matrix.getMu(recBS, task.getTaskType().ordinal()), matrix.getSigma(recBS, task.getTaskType().ordinal()), matrix.getNumOfTasks());
+		double dl = deadline(task, conv, 0.0001,recBS);
+		double bestProb = matrix.getProbability(recBS, taskType, dl);
 		
-		double[] probContainer = new double[neighboringBS.size()]; 
-		double[] neighCIL = new double[neighboringBS.size()];
-		double[] neighCIU = new double[neighboringBS.size()];
+		// neighbors of the receiving BS are the slice [first, first + neighborNum) of the graph
+		NeighborGraph graph = SimManager.getInstance().edgeServerManager.getNeighborGraph();
+		int first = graph.getStart(recBS);
+		int neighborNum = graph.getDegree(recBS);
+		double[][] scratch = getNeighborScratch(Math.max(1, graph.getMaxDegree()));
+		double[] probContainer = scratch[0];
+		double[] neighCIL = scratch[1];
+		double[] neighCIU = scratch[2];
+		Arrays.fill(probContainer, 0);
+		Arrays.fill(neighCIL, 0);
+		Arrays.fill(neighCIU, 0);
 		
-		double[] tempCI;
-		double convMu = 0.0;
-		double convMuPTC = 0.0;
-		double convVariance = 0.0;
-		double conVarPTC = 0.0;
-		
-		for(int i = 0; i < neighboringBS.size(); i++) {
-			
-			convMu = matrix.getMu(neighboringBS.get(i),  task.getTaskType().ordinal())+ettmatrix.getMu(neighboringBS.get(i), task.getTaskType().ordinal());
+		for(int i = 0; i < neighborNum; i++) {
 			
-			convVariance = Math.pow(matrix.getSigma(neighboringBS.get(i), task.getTaskType().ordinal()),2) + Math.pow(ettmatrix.getSigma(neighboringBS.get(i), task.getTaskType().ordinal()),2);
+			// convolved ETC+ETT distribution and its CI come from the table
+			int offset = conv.getOffset(graph.getNeighbor(first + i), taskType);
 			
-			dl1 = SimManager.getInstance().getEdgeOrchestrator().deadline(task, matrix, 0.0001,neighboringBS.get(i)); // 
+			dl1 = deadline(task, conv, 0.0001,graph.getNeighbor(first + i)); // 
 			
-			double prob = getConvolveProbability(convMu, Math.sqrt(convVariance), dl1); // probability of neighbor 
-			
-			tempCI = getCI(convMu, Math.sqrt(convVariance), matrix.getNumOfTasks());
+			double prob = conv.getProbability(offset, dl1); // probability of neighbor 
 			
 			if(bestProb < prob) {
 				probContainer[i] = prob;
-				neighCIL[i] = tempCI[0];
-				neighCIU[i] = tempCI[1];
+				neighCIL[i] = conv.getCiLower(offset);
+				neighCIU[i] = conv.getCiUpper(offset);
 			}
-			
-		int currentAvailableVm = availableVM(neighboringBS.get(i), task);
-		
-		//System.out.println(" Available vms in datacenter "+ neighboringBS.get(i)+ " is === "+ currentAvailableVm);
-		
 		}
 		
 		double temp;
 
-		for (int i = 0; i < neighboringBS.size(); i++) 
+		for (int i = 0; i < neighborNum; i++) 
 		{
-			for (int j = i + 1; j < neighboringBS.size(); j++) 
+			for (int j = i + 1; j < neighborNum; j++) 
 			{
 				if (probContainer[i] < probContainer[j]) 
 				{
@@ -537,58 +602,17 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		
 
 		
-		if (probContainer[0] < bestProb) { // local wins
+		if (probContainer[0] < bestProb || neighborNum == 0) { // local wins
 			
 			List<EdgeVM> vmArray = SimManager.getInstance().edgeServerManager.getDatacenterList().get(recBS).getVmList();
 			
 	
-			//finding the ptc matrix
-			double ptcMu;
-			double ptcProb;
-			task.setDc(recBS);
-			
-			
-			if(schedAlgo.equalsIgnoreCase("RR")) {
-				Location deviceLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(), CloudSim.clock());
-				//in our scenasrio, serving wlan ID is equal to the host id
-				//because there is only one host in one place
-				//int relatedHostId=deviceLocation.getServingWlanId();
-				
-				int tries = 0;
-				while(tries < vmArray.size()){
-					lastSelectedVmIndexes[recBS] = (lastSelectedVmIndexes[recBS]+1) % vmArray.size();
-					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(lastSelectedVmIndexes[recBS]).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(lastSelectedVmIndexes[recBS]).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-					if(requiredCapacity <= targetVmCapacity){
-						selectedVM = vmArray.get(lastSelectedVmIndexes[recBS]);
-						break;
-					}
-					tries++;
-				}
-				
-				
-				
-			}
-			else {
-				for(int j = 0; j < vmArray.size(); j++) {
-				
-				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(j).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(j).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-
-				ptcProb = ptcmatrix.getProbability(recBS, vmArray.get(j).getId(), task.getTaskType().ordinal(), dl);
-				
-				//System.out.println(" ptc Loacl prob : "+ptcProb+" datacenter prob : "+ bestProb);
-				
-				if(ptcProb > bestProb || (ptcProb == bestProb || task.getTaskPref() == vmArray.get(j).getVmChategory())){
-								
-					if(requiredCapacity <= targetVmCapacity) {
-						selectedVM = vmArray.get(j);
-						break;
-					}
-					
-				}
-			}
-			
+			// the VM scheduler picks among the VMs of the receiving BS
+			int position = activeScheduler.selectVm(context, recBS, dl, bestProb);
+			if(position != -1) {
+				selectedVM = vmArray.get(position);
+				if(activeScheduler.isPositionKept())
+					selectedPosition = position;
 			}
 			
 			//end of scheduling policy
@@ -612,18 +636,19 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				
 			}
 			
+			return new OrchestrationResult(context, selectedVM, recBS, true, selectedPosition, 0);
 		}
 		else { // remote wins
 			
 			int dc = 0;
 			int overlap = 0;
 	
-			if(neighboringBS.size()==1) {
+			if(neighborNum==1) {
 				bsIndex = 0;
 			}
 			else { // check ci of pr1 with other neighbors
 			
-			   for(int li=0;li< neighboringBS.size();li++) {
+			   for(int li=0;li< neighborNum;li++) {
 				   
 				   if(neighCIU[li] < neighCIL[bsIndex] || neighCIU[bsIndex] < neighCIL[li]) {
 					   bsIndex = li;
@@ -634,14 +659,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 			}
             
 			
-			dc = neighboringBS.get(bsIndex);
-			task.setDc(dc);
-			
-			if(recBS != dc) {
-				redirectBS++;
-				setRedirectBS(redirectBS);
-							
-			}
+			dc = graph.getNeighbor(first + bsIndex);
 			
 			List<EdgeVM> vmArray = SimManager.getInstance().edgeServerManager.getDatacenterList().get(dc).getVmList();
 			
@@ -663,112 +681,99 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 			
 			if(selectedVM == null) {
 				
-				for(int j = 0; j < vmArray.size(); j++) {
-					
-					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(j).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(j).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-					if(requiredCapacity <= targetVmCapacity) {
-						selectedVM = vmArray.get(j);
-						break;
-					}
-
-				}
+				selectedVM = getVmCapacityIndex().firstFit(dc, requiredCapacity(task));
 				
 			}
 			
 			//System.out.println(" waiting list @@@@@ "+vmArray.get(0).getCloudletScheduler().getCloudletWaitingList());
-			bsIndex = 0;
+			return new OrchestrationResult(context, selectedVM, dc, true, -1, 0);
 		}
-		
-		neighboringBS.clear();
-		
-		
-		System.out.println(" no of redirected tasks "+redirectBS);
-		return selectedVM;
 	}
 	
-	public int getMectDC(Task task) {
-		
-		ETCMatrix matrix = SimLogger.getInstance().matrix;
-		int mectDC = recBS;
-		double compValue = 99999;
-		double tmpValue = 0;
+	private static double[][] getNeighborScratch(int size) {
+		double[][] scratch = neighborScratch.get();
+		if(scratch == null || scratch[0].length < size) {
+			scratch = new double[3][size];
+			neighborScratch.set(scratch);
+		}
+		return scratch;
+	}
+	
+	// tables are immutable, concurrent decisions may build the same one twice at worst
+	private ConvolutionTable getConvolutionTable(ModelSnapshot model) {
+		ConvolutionTable table = convolutionTable;
+		if(table == null || table.getEpoch() != model.getEpoch()) {
+			table = new ConvolutionTable(model);
+			convolutionTable = table;
+		}
+		return table;
+	}
+	
+	private DatacenterRanking getRanking(ModelSnapshot model) {
+		DatacenterRanking table = ranking;
+		if(table == null || table.getEpoch() != model.getEpoch()) {
+			table = new DatacenterRanking(model);
+			ranking = table;
+		}
+		return table;
+	}
+	
+	/*
+	 * The base station with the lowest ETC mean for the task type,
+	 * the deadline is reduced by the communication delay to it
+	 */
+	public int getMectDC(OrchestrationContext context) {
 		
-		List<Datacenter> dcs = SimManager.getInstance().edgeServerManager.getDatacenterList();
+		Task task = context.getTask();
+		DatacenterRanking ranking = getRanking(context.getModel());
+		int taskType = task.getTaskType().ordinal();
+		int mectDC = context.getReceivingDc();
 		
-		for(int i = 0; i < dcs.size(); i++) {
-			tmpValue = matrix.getMu(i, task.getTaskType().ordinal());
-			
-			if(compValue > tmpValue) {
-				compValue = tmpValue;
-				mectDC = i;
-				//double ddll = SimManager.getInstance().getEdgeOrchestrator().deadline(task, matrix, 0.0,mectDC);
-				double mectComD = SimManager.getInstance().getNetworkModel().getUploadDelay(task.getMobileDeviceId(), mectDC ,task.getCloudletFileSize())+SimManager.getInstance().getNetworkModel().getDownloadDelay(mectDC, task.getMobileDeviceId(), task.getCloudletFileSize());
-				
-				//double last = ddll-mectComD;
-				task.setDeadLine(task.getDeadLine()-mectComD);
-				
-			}
+		if(ranking.getDataCnum() > 0 && ranking.getMu(taskType, 0) < 99999) {
+			mectDC = ranking.getDatacenter(taskType, 0);
+			double mectComD = SimManager.getInstance().getNetworkModel().getUploadDelay(task.getMobileDeviceId(), mectDC ,task.getCloudletFileSize())+SimManager.getInstance().getNetworkModel().getDownloadDelay(mectDC, task.getMobileDeviceId(), task.getCloudletFileSize());
+			task.setDeadLine(task.getDeadLine()-mectComD);
 		}
 		
 		return mectDC;
 	}
 	
-	public int getCertainityDC(Task task) {
+	/*
+	 * The base station with the largest gap between deadline and ETC mean.
+	 * Deadlines of two edge base stations differ at most by the internal LAN
+	 * delay of both directions, so the ranking is walked only while the ETC
+	 * mean is within that spread of the best one
+	 */
+	public int getCertainityDC(OrchestrationContext context) {
 
-		int bestDC = recBS;
+		Task task = context.getTask();
+		ModelSnapshot model = context.getModel();
+		DatacenterRanking ranking = getRanking(model);
+		ConvolutionTable conv = getConvolutionTable(model);
+		int taskType = task.getTaskType().ordinal();
+		double spread = 2 * SimSettings.getInstance().getInternalLanDelay();
+		int bestDC = context.getReceivingDc();
 		double crt = -99999;
 		double tmpCRT = 0;
 		
-		List<Datacenter> dcs = SimManager.getInstance().edgeServerManager.getDatacenterList();
-		
-	    for(int i = 0; i < dcs.size(); i++) {
-			double dl = SimManager.getInstance().getEdgeOrchestrator().deadline(task, SimLogger.getInstance().matrix, 0.0001,i);
+	    for(int rank = 0; rank < ranking.getDataCnum(); rank++) {
+			if(ranking.getMu(taskType, rank) - ranking.getMu(taskType, 0) > spread)
+				break;
+			
+			int i = ranking.getDatacenter(taskType, rank);
+			double dl = deadline(task, conv, 0.0001,i);
 								
-			tmpCRT = dl - matrix.getMu(i, task.getTaskType().ordinal());
+			tmpCRT = dl - ranking.getMu(taskType, rank);
 				
-			if(crt < tmpCRT) {
+			if(crt < tmpCRT || (crt == tmpCRT && i < bestDC)) {
 					crt = tmpCRT;
 					bestDC = i;
 				}
 			}
+		
+		// keep the deadline of the selected base station
+		deadline(task, conv, 0.0001, bestDC);
 	
 		return bestDC;
 	}
-	
-	/*
-	 * Fill the ArrayList for neighboring Base Stations;
-	 */
-	
-	public void getNeighbors(Task task) {
-		
-		List<EdgeHost> recLoc = receivingBS.getHostList();
-		Location recLocation = recLoc.get(0).getLocation();
-		int xRec = recLocation.getXPos();
-		int yRec = recLocation.getYPos();
-		
-		List<Datacenter> datacenters = SimManager.getInstance().edgeServerManager.getDatacenterList();
-
-		for(int i = 0; i < datacenters.size(); i++) {
-			List<EdgeHost> neighbourlist = datacenters.get(i).getHostList();
-			Location neighLocation = neighbourlist.get(0).getLocation();
-			int xNeigh = neighLocation.getXPos();
-			int yNeigh = neighLocation.getYPos();
-			
-			//SimLogger.printLine(" neighbour bs location X :"+ xNeigh +" y :" +yNeigh);
-			int xdiff = xRec-xNeigh;
-			int ydiff = yRec-yNeigh;
-			if(Math.abs(xdiff) == 1 || Math.abs(ydiff) == 1) {
-				neighboringBS.add(i);		
-			}
-		}
-	}
-
-	public Datacenter getReceivingBS() {
-		return receivingBS;
-	}
-
-	public static void setReceivingBS(Datacenter datacenter) {
-		receivingBS = datacenter;
-	}
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+/*
+ * Title:        EdgeCloudSim - Batch Assignment
+ *
+ * Description:
+ * BatchAssignment assigns a window of waiting tasks to edge VMs jointly
+ * instead of one task after the other. The expected completion time of
+ * every task on every candidate VM is computed once per window into a
+ * flat task x VM matrix; the candidates of a task are the VMs of the base
+ * station which received it and of its neighbors. The window is then
+ * assigned greedily by slack, by min-min / max-min or, for small windows,
+ * as an assignment problem which gives every task a different VM.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.edge_server.EdgeVM;
+import edu.boun.edgecloudsim.edge_server.VmCapacityIndex;
+import edu.boun.edgecloudsim.network.NetworkModel;
+import edu.boun.edgecloudsim.utils.AssignmentSolver;
+import edu.boun.edgecloudsim.utils.ETCMatrix;
+import edu.boun.edgecloudsim.utils.NeighborGraph;
+import edu.boun.edgecloudsim.utils.PTCMatrix;
+
+public class BatchAssignment {
+	//cost of a VM which can not take the task
+	private static final double INFEASIBLE = Double.POSITIVE_INFINITY;
+
+	private final OrchestrationContext[] contexts;
+	private final int taskNum;
+	private int vmNum;
+	private EdgeVM[] vms; //columns of the matrix
+	private int[] vmDc; //datacenter of every column
+	private double[] cost; //[task * vmNum + vm] expected completion time, INFEASIBLE if not a candidate
+	private double[] exec; //[task * vmNum + vm] expected execution time
+	private double[] required; //CPU capacity (%) every task needs
+	private double[] freeCapacity; //CPU capacity (%) left on every column
+	private double[] readyTime; //time every column is busy with the tasks assigned in this window
+
+	public BatchAssignment(OrchestrationContext[] _contexts) {
+		contexts = _contexts;
+		taskNum = contexts.length;
+		buildMatrix();
+	}
+
+	/*
+	 * the column of every task, -1 if no candidate can take it
+	 */
+	public int[] assign(String heuristic, int maxWindow) {
+		if(heuristic.equalsIgnoreCase("slack"))
+			return assignBySlack();
+		if(heuristic.equalsIgnoreCase("maxmin"))
+			return assignMinMin(false);
+		if(heuristic.equalsIgnoreCase("hungarian") && taskNum <= vmNum && taskNum <= maxWindow)
+			return assignOptimal();
+		return assignMinMin(true);
+	}
+
+	public EdgeVM getVm(int column) {
+		return vms[column];
+	}
+
+	public int getDatacenter(int column) {
+		return vmDc[column];
+	}
+
+	private void buildMatrix() {
+		SimManager simManager = SimManager.getInstance();
+		VmCapacityIndex capacityIndex = simManager.edgeServerManager.getVmCapacityIndex();
+		NeighborGraph graph = simManager.edgeServerManager.getNeighborGraph();
+		NetworkModel networkModel = simManager.getNetworkModel();
+		int dcNum = graph.getDataCnum();
+
+		// columns: the VMs of every datacenter some task of the window can use
+		boolean[] dcUsed = new boolean[dcNum];
+		for(OrchestrationContext context : contexts) {
+			int dc = context.getReceivingDc();
+			dcUsed[dc] = true;
+			for(int i=graph.getStart(dc); i<graph.getEnd(dc); i++)
+				dcUsed[graph.getNeighbor(i)] = true;
+		}
+		int[] firstColumn = new int[dcNum];
+		vmNum = 0;
+		for(int dc=0; dc<dcNum; dc++) {
+			firstColumn[dc] = vmNum;
+			if(dcUsed[dc])
+				vmNum += capacityIndex.getNumOfVms(dc);
+		}
+		vms = new EdgeVM[vmNum];
+		vmDc = new int[vmNum];
+		freeCapacity = new double[vmNum];
+		readyTime = new double[vmNum];
+		for(int dc=0; dc<dcNum; dc++) {
+			if(!dcUsed[dc])
+				continue;
+			for(int position=0; position<capacityIndex.getNumOfVms(dc); position++) {
+				int column = firstColumn[dc] + position;
+				vms[column] = capacityIndex.getVm(dc, position);
+				vmDc[column] = dc;
+				freeCapacity[column] = capacityIndex.getFreeCapacity(vms[column].getId());
+			}
+		}
+
+		cost = new double[taskNum * vmNum];
+		exec = new double[taskNum * vmNum];
+		required = new double[taskNum];
+		Arrays.fill(cost, INFEASIBLE);
+		for(int t=0; t<taskNum; t++) {
+			OrchestrationContext context = contexts[t];
+			Task task = context.getTask();
+			ETCMatrix etc = context.getModel().getETCMatrix();
+			PTCMatrix ptc = context.getModel().getPTCMatrix();
+			int taskType = task.getTaskType().ordinal();
+			required[t] = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(SimSettings.VM_TYPES.EDGE_VM);
+
+			// the receiving BS and its neighbors
+			int recDc = context.getReceivingDc();
+			int[] candidates = new int[graph.getDegree(recDc) + 1];
+			candidates[0] = recDc;
+			for(int i=graph.getStart(recDc); i<graph.getEnd(recDc); i++)
+				candidates[i - graph.getStart(recDc) + 1] = graph.getNeighbor(i);
+
+			for(int dc : candidates) {
+				double comm = networkModel.getUploadDelay(task.getMobileDeviceId(), dc, task.getCloudletFileSize()) +
+						networkModel.getDownloadDelay(dc, task.getMobileDeviceId(), task.getCloudletFileSize());
+				int etcOffset = etc.getOffset(dc, taskType);
+				double etcMu = etc.isKnown(etcOffset) ? etc.getMu(etcOffset) : 0;
+
+				for(int position=0; position<capacityIndex.getNumOfVms(dc); position++) {
+					int column = firstColumn[dc] + position;
+					EdgeVM vm = vms[column];
+					int ptcOffset = ptc.getOffset(dc, vm.getId(), taskType);
+					double mu = ptc.isKnown(ptcOffset) ? ptc.getMu(ptcOffset) : 0;
+					if(mu <= 0)
+						mu = etcMu;
+					if(mu <= 0)
+						mu = task.getCloudletLength() / vm.getMips();
+					exec[t * vmNum + column] = mu;
+					cost[t * vmNum + column] = mu + comm;
+				}
+			}
+		}
+	}
+
+	private boolean fits(int t, int v) {
+		return cost[t * vmNum + v] != INFEASIBLE && required[t] <= freeCapacity[v];
+	}
+
+	private double completionTime(int t, int v) {
+		return readyTime[v] + cost[t * vmNum + v];
+	}
+
+	//column with the earliest completion time for the task, -1 if none fits
+	private int bestColumn(int t) {
+		int best = -1;
+		for(int v=0; v<vmNum; v++) {
+			if(fits(t, v) && (best == -1 || completionTime(t, v) < completionTime(t, best)))
+				best = v;
+		}
+		return best;
+	}
+
+	private void take(int t, int v, int[] result) {
+		result[t] = v;
+		readyTime[v] += exec[t * vmNum + v];
+		freeCapacity[v] -= required[t];
+	}
+
+	/*
+	 * tasks with the least time left until their deadline choose first
+	 */
+	private int[] assignBySlack() {
+		int[] result = new int[taskNum];
+		Arrays.fill(result, -1);
+		final double[] slack = new double[taskNum];
+		Integer[] order = new Integer[taskNum];
+		double now = CloudSim.clock();
+		for(int t=0; t<taskNum; t++) {
+			int best = bestColumn(t);
+			slack[t] = contexts[t].getTask().getDeadLine() - now - (best == -1 ? 0 : cost[t * vmNum + best]);
+			order[t] = t;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(slack[a], slack[b]);
+			}
+		});
+
+		for(int t : order) {
+			int best = bestColumn(t);
+			if(best != -1)
+				take(t, best, result);
+		}
+		return result;
+	}
+
+	/*
+	 * min-min assigns the task which can finish first, max-min the task
+	 * whose earliest completion time is the latest
+	 */
+	private int[] assignMinMin(boolean min) {
+		int[] result = new int[taskNum];
+		Arrays.fill(result, -1);
+		boolean[] done = new boolean[taskNum];
+		int[] bestOf = new int[taskNum];
+		for(int t=0; t<taskNum; t++)
+			bestOf[t] = bestColumn(t);
+
+		for(int round=0; round<taskNum; round++) {
+			int chosen = -1;
+			for(int t=0; t<taskNum; t++) {
+				if(done[t] || bestOf[t] == -1)
+					continue;
+				if(chosen == -1) {
+					chosen = t;
+					continue;
+				}
+				double time = completionTime(t, bestOf[t]);
+				double chosenTime = completionTime(chosen, bestOf[chosen]);
+				if(min ? time < chosenTime : time > chosenTime)
+					chosen = t;
+			}
+			if(chosen == -1)
+				break; //no task fits anywhere anymore
+			done[chosen] = true;
+			int taken = bestOf[chosen];
+			take(chosen, taken, result);
+			// only the taken column got worse, the other tasks keep their best column
+			for(int t=0; t<taskNum; t++)
+				if(!done[t] && bestOf[t] == taken)
+					bestOf[t] = bestColumn(t);
+		}
+		return result;
+	}
+
+	/*
+	 * every task gets a different VM, the total completion time is minimal
+	 */
+	private int[] assignOptimal() {
+		int[] result = new int[taskNum];
+		Arrays.fill(result, -1);
+		// infeasible cells get a cost no feasible assignment reaches
+		double penalty = 1;
+		for(int i=0; i<cost.length; i++)
+			if(cost[i] != INFEASIBLE)
+				penalty += cost[i];
+		double[] matrix = new double[taskNum * vmNum];
+		for(int t=0; t<taskNum; t++)
+			for(int v=0; v<vmNum; v++)
+				matrix[t * vmNum + v] = fits(t, v) ? cost[t * vmNum + v] : penalty;
+
+		int[] columns = AssignmentSolver.solve(matrix, taskNum, vmNum);
+		for(int t=0; t<taskNum; t++) {
+			if(fits(t, columns[t]))
+				take(t, columns[t], result);
+		}
+		return result;
+	}
+}
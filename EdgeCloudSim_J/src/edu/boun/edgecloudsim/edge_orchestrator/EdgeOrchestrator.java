@@ -15,13 +15,23 @@ package edu.boun.edgecloudsim.edge_orchestrator;
 
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.utils.ETCMatrix;
+import edu.boun.edgecloudsim.utils.ModelSnapshot;
+import edu.boun.edgecloudsim.utils.SimLogger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_client.Task;
 
 public abstract class EdgeOrchestrator {
+	//smallest batch which is worth splitting over the fork-join pool
+	public static final int PARALLEL_THRESHOLD = 64;
+	
 	protected String policy;
 	protected String simScenario;
 	protected String schedAlgo;
@@ -42,10 +52,129 @@ public abstract class EdgeOrchestrator {
 	 */
 	public abstract int getDeviceToOffload(Task task);
 	
+	/*
+	 * selects a VM for the task without changing the orchestrator,
+	 * only the task of the context may be written (e.g. its deadline)
+	 */
+	public abstract OrchestrationResult decide(OrchestrationContext context);
+	
+	/*
+	 * applies a decision: updates the task, the counters and the policy state
+	 */
+	public abstract void apply(OrchestrationResult result);
+	
+	/*
+	 * true if the decisions of a batch do not depend on each other,
+	 * i.e. apply does not change anything decide reads
+	 */
+	public boolean isParallelSafe() {
+		return false;
+	}
+	
+	public OrchestrationContext createContext(Task task, ModelSnapshot model) {
+		return new OrchestrationContext(task, task.getReceivingDc(), model);
+	}
+	
 	/*
 	 * returns proper VM from the related edge orchestrator point of view
 	 */
-	public abstract EdgeVM getVmToOffload(Task task);
+	public EdgeVM getVmToOffload(Task task) {
+		OrchestrationResult result = decide(createContext(task, SimLogger.getInstance().getModel()));
+		apply(result);
+		return result.getVm();
+	}
+	
+	/*
+	 * selects a VM for each task of a batch, the results are applied in the order of the tasks.
+	 * Decisions are evaluated on the fork-join pool if the policy allows it and
+	 * parallel orchestration is enabled, otherwise one after the other.
+	 */
+	public List<OrchestrationResult> decideAll(List<Task> tasks) {
+		ModelSnapshot model = SimLogger.getInstance().getModel();
+		OrchestrationContext[] contexts = new OrchestrationContext[tasks.size()];
+		for(int i=0; i<tasks.size(); i++)
+			contexts[i] = createContext(tasks.get(i), model);
+		
+		OrchestrationResult[] results = new OrchestrationResult[contexts.length];
+		if(SimSettings.getInstance().getParallelOrchestrationEnabled() && isParallelSafe() && contexts.length >= PARALLEL_THRESHOLD) {
+			ForkJoinPool.commonPool().invoke(new DecisionTask(contexts, results, 0, contexts.length));
+			for(OrchestrationResult result : results)
+				apply(result);
+		}
+		else {
+			for(int i=0; i<contexts.length; i++) {
+				results[i] = decide(contexts[i]);
+				apply(results[i]);
+			}
+		}
+		return Arrays.asList(results);
+	}
+	
+	/*
+	 * assigns the tasks of a batch jointly by the heuristic of the properties file,
+	 * every decision of the batch sees the VMs the tasks before it have taken.
+	 * Tasks without a receiving base station and batches under the none heuristic
+	 * are decided one by one as in decideAll.
+	 */
+	public List<OrchestrationResult> assignBatch(List<Task> tasks) {
+		String heuristic = SimSettings.getInstance().getBatchAssignment();
+		if(heuristic.equalsIgnoreCase("none"))
+			return decideAll(tasks);
+		
+		ModelSnapshot model = SimLogger.getInstance().getModel();
+		List<OrchestrationContext> window = new ArrayList<OrchestrationContext>();
+		OrchestrationContext[] contexts = new OrchestrationContext[tasks.size()];
+		for(int i=0; i<tasks.size(); i++) {
+			contexts[i] = createContext(tasks.get(i), model);
+			if(contexts[i].getReceivingDc() != -1)
+				window.add(contexts[i]);
+		}
+		
+		OrchestrationResult[] results = new OrchestrationResult[contexts.length];
+		BatchAssignment batch = new BatchAssignment(window.toArray(new OrchestrationContext[window.size()]));
+		int[] columns = batch.assign(heuristic, SimSettings.getInstance().getBatchAssignmentMaxWindow());
+		for(int i=0, w=0; i<contexts.length; i++) {
+			if(contexts[i].getReceivingDc() == -1) {
+				results[i] = decide(contexts[i]);
+			}
+			else {
+				int column = columns[w++];
+				if(column == -1)
+					results[i] = new OrchestrationResult(contexts[i], null, -1, false, -1, 0);
+				else
+					results[i] = new OrchestrationResult(contexts[i], batch.getVm(column), batch.getDatacenter(column), true, -1, 0);
+			}
+			apply(results[i]);
+		}
+		return Arrays.asList(results);
+	}
+	
+	private class DecisionTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final OrchestrationContext[] contexts;
+		private final OrchestrationResult[] results;
+		private final int from;
+		private final int to;
+		
+		DecisionTask(OrchestrationContext[] _contexts, OrchestrationResult[] _results, int _from, int _to) {
+			contexts = _contexts;
+			results = _results;
+			from = _from;
+			to = _to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to - from <= PARALLEL_THRESHOLD / 2) {
+				for(int i=from; i<to; i++)
+					results[i] = decide(contexts[i]);
+			}
+			else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new DecisionTask(contexts, results, from, mid), new DecisionTask(contexts, results, mid, to));
+			}
+		}
+	}
 	
 	
 	public abstract int getTempListSize();
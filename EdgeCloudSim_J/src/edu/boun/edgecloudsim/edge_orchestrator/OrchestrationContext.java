@@ -0,0 +1,42 @@
+/*
+ * Title:        EdgeCloudSim - Orchestration Context
+ *
+ * Description:
+ * OrchestrationContext holds everything a VM selection decision reads
+ * besides the shared simulation state: the task, the base station which
+ * received it and the model snapshot of the last checkpoint. A context
+ * is immutable, so decisions of several tasks can be evaluated at the
+ * same time against the same snapshot.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.utils.ModelSnapshot;
+
+public final class OrchestrationContext {
+	private final Task task;
+	private final int receivingDc;
+	private final ModelSnapshot model;
+
+	public OrchestrationContext(Task _task, int _receivingDc, ModelSnapshot _model) {
+		task = _task;
+		receivingDc = _receivingDc;
+		model = _model;
+	}
+
+	public Task getTask() {
+		return task;
+	}
+
+	public int getReceivingDc() {
+		return receivingDc;
+	}
+
+	public ModelSnapshot getModel() {
+		return model;
+	}
+}
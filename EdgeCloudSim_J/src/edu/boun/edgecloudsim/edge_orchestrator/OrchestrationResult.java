@@ -0,0 +1,70 @@
+/*
+ * Title:        EdgeCloudSim - Orchestration Result
+ *
+ * Description:
+ * OrchestrationResult is the outcome of a VM selection decision.
+ * Deciding does not change the orchestrator; the orchestrator applies
+ * the result afterwards, which updates the task, the counters and the
+ * policy state (e.g. the round robin position) in the order of the tasks.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.edge_server.EdgeVM;
+
+public final class OrchestrationResult {
+	private final OrchestrationContext context;
+	private final EdgeVM vm; //null if no VM has enough capacity
+	private final int datacenter; //datacenter chosen for the task, -1 if the policy does not choose one
+	private final boolean assignDatacenter; //true if the task records the chosen datacenter
+	private final int vmPosition; //position of the VM in its datacenter for round robin, -1 if not used
+	private final int skippedVms; //VMs passed over before the selected one, for the MECT waiting pool
+
+	public OrchestrationResult(OrchestrationContext _context, EdgeVM _vm, int _datacenter, boolean _assignDatacenter, int _vmPosition, int _skippedVms) {
+		context = _context;
+		vm = _vm;
+		datacenter = _datacenter;
+		assignDatacenter = _assignDatacenter;
+		vmPosition = _vmPosition;
+		skippedVms = _skippedVms;
+	}
+
+	public OrchestrationContext getContext() {
+		return context;
+	}
+
+	public Task getTask() {
+		return context.getTask();
+	}
+
+	public EdgeVM getVm() {
+		return vm;
+	}
+
+	public int getDatacenter() {
+		return datacenter;
+	}
+
+	public boolean isAssignDatacenter() {
+		return assignDatacenter;
+	}
+
+	/*
+	 * true if the task leaves the base station which received it
+	 */
+	public boolean isRedirected() {
+		return datacenter != -1 && datacenter != context.getReceivingDc();
+	}
+
+	public int getVmPosition() {
+		return vmPosition;
+	}
+
+	public int getSkippedVms() {
+		return skippedVms;
+	}
+}
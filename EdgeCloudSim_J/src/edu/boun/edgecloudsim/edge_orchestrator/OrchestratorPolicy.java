@@ -0,0 +1,62 @@
+/*
+ * Title:        EdgeCloudSim - Orchestrator Policy
+ *
+ * Description:
+ * OrchestratorPolicy is one load balancing policy of an edge orchestrator,
+ * e.g. Probability or MECT. The orchestrator registers its policies under
+ * the names used in orchestrator_policies and resolves the configured one
+ * once in initialize(), so a decision costs one virtual call instead of
+ * comparing policy names. For those who wants to add a custom policy
+ * should extend this class and register an instance in the orchestrator.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.Task;
+
+public abstract class OrchestratorPolicy {
+	private final String name;
+
+	public OrchestratorPolicy(String _name) {
+		name = _name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * selects a VM for the task, must not change the policy state
+	 */
+	public abstract OrchestrationResult select(OrchestrationContext context);
+
+	/*
+	 * updates the policy state after the result is applied
+	 */
+	public void applied(OrchestrationResult result) {
+	}
+
+	/*
+	 * called when an urgent task is received by a base station
+	 */
+	public void received(Task task, int datacenter) {
+	}
+
+	/*
+	 * the device urgent tasks are offloaded to
+	 */
+	public int getOffloadDestination() {
+		return SimSettings.GENERIC_EDGE_DEVICE_ID;
+	}
+
+	/*
+	 * true if select does not read anything applied changes
+	 */
+	public boolean isParallelSafe() {
+		return true;
+	}
+}
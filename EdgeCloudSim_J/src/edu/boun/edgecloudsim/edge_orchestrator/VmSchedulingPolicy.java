@@ -0,0 +1,40 @@
+/*
+ * Title:        EdgeCloudSim - VM Scheduling Policy
+ *
+ * Description:
+ * VmSchedulingPolicy selects the VM of a base station which runs a task
+ * once the orchestrator policy has kept the task on that base station,
+ * e.g. round robin. It is registered under the names used in
+ * scheduling_policies and resolved once in initialize().
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+public abstract class VmSchedulingPolicy {
+	private final String name;
+
+	public VmSchedulingPolicy(String _name) {
+		name = _name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * position of the selected VM in the datacenter, -1 if none fits
+	 * @param deadline deadline of the task on the datacenter
+	 * @param datacenterProbability probability of meeting the deadline on the datacenter
+	 */
+	public abstract int selectVm(OrchestrationContext context, int datacenter, double deadline, double datacenterProbability);
+
+	/*
+	 * true if the position of the selected VM is kept for the next decision
+	 */
+	public boolean isPositionKept() {
+		return false;
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Title:        EdgeCloudSim - Edge Cloudlet Scheduler
+ *
+ * Description:
+ * EdgeCloudletScheduler is a space shared scheduler which reports the
+ * free CPU capacity of its VM to the VmCapacityIndex whenever a cloudlet
+ * is submitted, finishes, is cancelled, paused or resumed.
+ * The utilization of a task does not change while it runs
+ * (see CpuUtilizationModel_Custom), so the index stays equal to
+ * 100 - getTotalUtilizationOfCpu between these events.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_server;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+public class EdgeCloudletScheduler extends CloudletSchedulerSpaceShared {
+	private VmCapacityIndex capacityIndex;
+	private int vmId;
+
+	public EdgeCloudletScheduler() {
+		super();
+	}
+
+	public void setCapacityIndex(VmCapacityIndex _capacityIndex, int _vmId) {
+		capacityIndex = _capacityIndex;
+		vmId = _vmId;
+		capacityChanged();
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+		double result = super.cloudletSubmit(cloudlet, fileTransferTime);
+		capacityChanged();
+		return result;
+	}
+
+	//finished cloudlets leave and waiting ones start here
+	@Override
+	public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+		double result = super.updateVmProcessing(currentTime, mipsShare);
+		capacityChanged();
+		return result;
+	}
+
+	@Override
+	public Cloudlet cloudletCancel(int cloudletId) {
+		Cloudlet result = super.cloudletCancel(cloudletId);
+		capacityChanged();
+		return result;
+	}
+
+	@Override
+	public boolean cloudletPause(int cloudletId) {
+		boolean result = super.cloudletPause(cloudletId);
+		capacityChanged();
+		return result;
+	}
+
+	@Override
+	public double cloudletResume(int cloudletId) {
+		double result = super.cloudletResume(cloudletId);
+		capacityChanged();
+		return result;
+	}
+
+	private void capacityChanged() {
+		if(capacityIndex != null)
+			capacityIndex.update(vmId, (double)100 - getTotalUtilizationOfCpu(CloudSim.clock()));
+	}
+}
@@ -13,11 +13,11 @@
 package edu.boun.edgecloudsim.edge_server;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.cloudbus.cloudsim.CloudletSchedulerDynamicWorkload;
-import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
 import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
@@ -38,12 +38,17 @@ import org.w3c.dom.NodeList;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.LocationIndex;
+import edu.boun.edgecloudsim.utils.NeighborGraph;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class EdgeServerManager {
 	private List<Datacenter> localDatacenters;
 	private List<List<EdgeVM>> vmList;
 	private int hostIdCounter;
+	private LocationIndex hostLocations;
+	private NeighborGraph neighborGraph;
+	private VmCapacityIndex vmCapacityIndex;
 
 	public EdgeServerManager() {
 		localDatacenters=new ArrayList<Datacenter>();
@@ -59,6 +64,21 @@ public class EdgeServerManager {
 		return localDatacenters;
 	}
 	
+	//spatial index over the host locations, built by startDatacenters
+	public LocationIndex getHostLocations(){
+		return hostLocations;
+	}
+	
+	//neighboring base stations of each datacenter, built by startDatacenters
+	public NeighborGraph getNeighborGraph(){
+		return neighborGraph;
+	}
+	
+	//free capacity of the VMs of each datacenter, built by createVmList
+	public VmCapacityIndex getVmCapacityIndex(){
+		return vmCapacityIndex;
+	}
+	
 	public void startDatacenters() throws Exception{
 		//create random number generator for each place
 		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
@@ -68,12 +88,24 @@ public class EdgeServerManager {
 			Element datacenterElement = (Element) datacenterNode;
 			localDatacenters.add(createDatacenter(i, datacenterElement));
 		}
+		hostLocations = createLocationIndex();
+		neighborGraph = createNeighborGraph(datacenterList);
 		//for(int i = 0; i < localDatacenters.size(); i++) {
 			//System.out.println(localDatacenters.get(i).getId() + "\n");
 		//}
 	}
 
 	public void createVmList(int brockerId){
+		int[] brokerIds = new int[SimSettings.getInstance().getNumOfEdgeDatacenters()];
+		Arrays.fill(brokerIds, brockerId);
+		createVmList(brokerIds);
+	}
+	
+	/**
+	 * creates the VMs of every datacenter for the broker serving it
+	 * @param brokerIds the broker id of each datacenter
+	 */
+	public void createVmList(int[] brokerIds){
 		int hostCounter=0;
 		int vmCounter=0;
 		
@@ -114,7 +146,7 @@ public class EdgeServerManager {
 					else vmChategory = 0;
 					
 					//VM Parameters		
-					EdgeVM vm = new EdgeVM(vmCounter, brockerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerSpaceShared(),vmChategory);
+					EdgeVM vm = new EdgeVM(vmCounter, brokerIds[i], mips, numOfCores, ram, bandwidth, storage, vmm, new EdgeCloudletScheduler(),vmChategory);
 					vm.setVmType(SimSettings.VM_TYPES.EDGE_VM);
 					vmList.get(hostCounter).add(vm);
 					vmCounter++;
@@ -123,6 +155,20 @@ public class EdgeServerManager {
 				hostCounter++;
 			}
 		}
+		
+		//host ids of each datacenter
+		List<List<Integer>> hostsOfDatacenters = new ArrayList<List<Integer>>();
+		for(int i= 0; i<localDatacenters.size(); i++) {
+			List<Integer> hosts = new ArrayList<Integer>();
+			for (Host host : localDatacenters.get(i).getHostList())
+				hosts.add(host.getId());
+			hostsOfDatacenters.add(hosts);
+		}
+		vmCapacityIndex = new VmCapacityIndex(hostsOfDatacenters, vmList);
+		for(List<EdgeVM> vms : vmList){
+			for(EdgeVM vm : vms)
+				((EdgeCloudletScheduler)vm.getCloudletScheduler()).setCapacityIndex(vmCapacityIndex, vm.getId());
+		}
 	}
 	
 	public void terminateDatacenters(){
@@ -153,6 +199,107 @@ public class EdgeServerManager {
 		return totalUtilization / vmCounter;
 	}
 
+	//number of VMs on all hosts
+	public int getNumOfVms(){
+		int numOfVms = 0;
+		for(int i=0; i<vmList.size(); i++)
+			numOfVms += vmList.get(i).size();
+		return numOfVms;
+	}
+
+	//index of the datacenter hosting each VM, indexed by VM id
+	public int[] getVmDatacenters(){
+		int[] vmDatacenters = new int[getNumOfVms()];
+		
+		// for each datacenter...
+		for(int i= 0; i<localDatacenters.size(); i++) {
+			List<? extends Host> list = localDatacenters.get(i).getHostList();
+			// for each host...
+			for (int j=0; j < list.size(); j++) {
+				List<EdgeVM> vmArray = getVmList(list.get(j).getId());
+				//for each vm...
+				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++)
+					vmDatacenters[vmArray.get(vmIndex).getId()] = i;
+			}
+		}
+		return vmDatacenters;
+	}
+
+	//utilization of each VM, indexed by VM id
+	public void getVmUtilizations(double[] utilizations){
+		// for each datacenter...
+		for(int i= 0; i<localDatacenters.size(); i++) {
+			List<? extends Host> list = localDatacenters.get(i).getHostList();
+			// for each host...
+			for (int j=0; j < list.size(); j++) {
+				List<EdgeVM> vmArray = getVmList(list.get(j).getId());
+				//for each vm...
+				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
+					EdgeVM vm = vmArray.get(vmIndex);
+					utilizations[vm.getId()] = vm.getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				}
+			}
+		}
+	}
+
+	//hosts are added in datacenter order, so ties resolve like a scan over the datacenter list
+	private LocationIndex createLocationIndex(){
+		List<EdgeHost> hosts = new ArrayList<EdgeHost>();
+		List<Integer> owners = new ArrayList<Integer>();
+		for(int i= 0; i<localDatacenters.size(); i++) {
+			List<EdgeHost> list = localDatacenters.get(i).getHostList();
+			for (int j=0; j < list.size(); j++) {
+				hosts.add(list.get(j));
+				owners.add(i);
+			}
+		}
+		
+		int[] xPos = new int[hosts.size()];
+		int[] yPos = new int[hosts.size()];
+		int[] datacenters = new int[hosts.size()];
+		for(int i=0; i<hosts.size(); i++){
+			Location location = hosts.get(i).getLocation();
+			xPos[i] = location.getXPos();
+			yPos[i] = location.getYPos();
+			datacenters[i] = owners.get(i);
+		}
+		return new LocationIndex(xPos, yPos, datacenters);
+	}
+
+	//datacenters are placed at the location of their first host
+	private NeighborGraph createNeighborGraph(NodeList datacenterList){
+		String neighborhood = SimSettings.getInstance().getNeighborhood();
+		
+		if(neighborhood.equalsIgnoreCase("explicit")){
+			int[][] links = new int[datacenterList.getLength()][];
+			for (int i = 0; i < datacenterList.getLength(); i++) {
+				Element datacenterElement = (Element) datacenterList.item(i);
+				NodeList neighborList = datacenterElement.getElementsByTagName("neighbor");
+				links[i] = new int[neighborList.getLength()];
+				for (int j = 0; j < neighborList.getLength(); j++)
+					links[i][j] = Integer.parseInt(neighborList.item(j).getTextContent().trim());
+			}
+			return NeighborGraph.explicit(links);
+		}
+		
+		int[] xPos = new int[localDatacenters.size()];
+		int[] yPos = new int[localDatacenters.size()];
+		for(int i= 0; i<localDatacenters.size(); i++) {
+			Location location = ((EdgeHost) localDatacenters.get(i).getHostList().get(0)).getLocation();
+			xPos[i] = location.getXPos();
+			yPos[i] = location.getYPos();
+		}
+		
+		if(neighborhood.equalsIgnoreCase("grid"))
+			return NeighborGraph.grid(xPos, yPos);
+		else if(neighborhood.equalsIgnoreCase("radius"))
+			return NeighborGraph.radius(xPos, yPos, SimSettings.getInstance().getNeighborhoodRadius());
+		else if(neighborhood.equalsIgnoreCase("knn"))
+			return NeighborGraph.nearest(xPos, yPos, SimSettings.getInstance().getNeighborhoodK());
+		
+		throw new IllegalArgumentException("Unknown neighborhood '" + neighborhood + "'");
+	}
+
 	private Datacenter createDatacenter(int index, Element datacenterElement) throws Exception{
 		String arch = datacenterElement.getAttribute("arch");
 		String os = datacenterElement.getAttribute("os");
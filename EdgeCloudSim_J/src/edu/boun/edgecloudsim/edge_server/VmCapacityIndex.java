@@ -0,0 +1,128 @@
+/*
+ * Title:        EdgeCloudSim - VM Capacity Index
+ *
+ * Description:
+ * VmCapacityIndex keeps the free CPU capacity (%) of every edge VM
+ * in one CapacityTree per datacenter. The VMs of a datacenter are
+ * ordered host by host as in EdgeServerManager.getVmList, which is
+ * also the order of Datacenter.getVmList. The schedulers of the VMs
+ * report every change, so the orchestrator can find a VM with enough
+ * capacity without reading the utilization of each VM.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_server;
+
+import java.util.List;
+
+import edu.boun.edgecloudsim.utils.CapacityTree;
+
+public class VmCapacityIndex {
+	private EdgeVM[][] vms; //[datacenter][position]
+	private CapacityTree[] trees; //one per datacenter
+	private int[] vmDatacenter; //indexed by VM id
+	private int[] vmPosition; //indexed by VM id
+	private int[] hostDatacenter; //indexed by host id
+	private int[] hostStart; //first position of the host in its datacenter
+	private int[] hostEnd;
+
+	/**
+	 * @param hostsOfDatacenters the host ids of every datacenter
+	 * @param vmLists the VMs of every host, indexed by host id
+	 */
+	public VmCapacityIndex(List<List<Integer>> hostsOfDatacenters, List<List<EdgeVM>> vmLists) {
+		int numOfVms = 0;
+		for(int hostId=0; hostId<vmLists.size(); hostId++)
+			numOfVms += vmLists.get(hostId).size();
+
+		vms = new EdgeVM[hostsOfDatacenters.size()][];
+		trees = new CapacityTree[hostsOfDatacenters.size()];
+		vmDatacenter = new int[numOfVms];
+		vmPosition = new int[numOfVms];
+		hostDatacenter = new int[vmLists.size()];
+		hostStart = new int[vmLists.size()];
+		hostEnd = new int[vmLists.size()];
+
+		for(int dc=0; dc<hostsOfDatacenters.size(); dc++){
+			List<Integer> hosts = hostsOfDatacenters.get(dc);
+			int size = 0;
+			for(int hostId : hosts)
+				size += vmLists.get(hostId).size();
+
+			vms[dc] = new EdgeVM[size];
+			trees[dc] = new CapacityTree(size, 100);
+			int position = 0;
+			for(int hostId : hosts){
+				hostDatacenter[hostId] = dc;
+				hostStart[hostId] = position;
+				for(EdgeVM vm : vmLists.get(hostId)){
+					vms[dc][position] = vm;
+					vmDatacenter[vm.getId()] = dc;
+					vmPosition[vm.getId()] = position;
+					position++;
+				}
+				hostEnd[hostId] = position;
+			}
+		}
+	}
+
+	/**
+	 * Records the free capacity (%) of a VM
+	 */
+	public void update(int vmId, double freeCapacity) {
+		trees[vmDatacenter[vmId]].update(vmPosition[vmId], freeCapacity);
+	}
+
+	public double getFreeCapacity(int vmId) {
+		return trees[vmDatacenter[vmId]].get(vmPosition[vmId]);
+	}
+
+	public int getNumOfVms(int datacenter) {
+		return vms[datacenter].length;
+	}
+
+	public EdgeVM getVm(int datacenter, int position) {
+		return vms[datacenter][position];
+	}
+
+	//first VM of the datacenter with enough capacity, null if none
+	public EdgeVM firstFit(int datacenter, double requiredCapacity) {
+		return vmAt(datacenter, trees[datacenter].firstFit(0, vms[datacenter].length, requiredCapacity));
+	}
+
+	//last VM of the datacenter with enough capacity, null if none
+	public EdgeVM lastFit(int datacenter, double requiredCapacity) {
+		return vmAt(datacenter, trees[datacenter].lastFit(0, vms[datacenter].length, requiredCapacity));
+	}
+
+	//VM of the datacenter with the least capacity left after the task, null if none
+	public EdgeVM bestFit(int datacenter, double requiredCapacity) {
+		return vmAt(datacenter, trees[datacenter].bestFit(0, vms[datacenter].length, requiredCapacity));
+	}
+
+	//number of VMs of the datacenter with enough capacity
+	public int count(int datacenter, double requiredCapacity) {
+		return trees[datacenter].count(0, vms[datacenter].length, requiredCapacity);
+	}
+
+	//position of the first VM with enough capacity after the given position, wrapping around, -1 if none
+	public int nextFit(int datacenter, int position, double requiredCapacity) {
+		int size = vms[datacenter].length;
+		int result = trees[datacenter].firstFit(position + 1, size, requiredCapacity);
+		if(result == -1)
+			result = trees[datacenter].firstFit(0, Math.min(position + 1, size), requiredCapacity);
+		return result;
+	}
+
+	//first VM of the host with enough capacity, null if none
+	public EdgeVM firstFitOnHost(int hostId, double requiredCapacity) {
+		int datacenter = hostDatacenter[hostId];
+		return vmAt(datacenter, trees[datacenter].firstFit(hostStart[hostId], hostEnd[hostId], requiredCapacity));
+	}
+
+	private EdgeVM vmAt(int datacenter, int position) {
+		return position == -1 ? null : vms[datacenter][position];
+	}
+}
@@ -14,10 +14,12 @@
 package edu.boun.edgecloudsim.mobility;
 
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.PlaceOccupancy;
 
 public abstract class MobilityModel {
 	protected int numberOfMobileDevices;
 	protected double simulationTime;
+	protected PlaceOccupancy placeOccupancy = null;
 	
 	public MobilityModel(int _numberOfMobileDevices, double _simulationTime){
 		numberOfMobileDevices=_numberOfMobileDevices;
@@ -33,4 +35,12 @@ public abstract class MobilityModel {
 	 * returns location of a device at a certain time
 	 */
 	public abstract Location getLocation(int deviceId, double time);
+	
+	/*
+	 * returns the number of devices in each place type over time,
+	 * null if the mobility model does not report the moves of the devices
+	 */
+	public PlaceOccupancy getPlaceOccupancy() {
+		return placeOccupancy;
+	}
 }
@@ -25,6 +25,7 @@ import org.w3c.dom.NodeList;
 
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.PlaceOccupancy;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
@@ -39,6 +40,7 @@ public class NomadicMobility extends MobilityModel {
 	@Override
 	public void initialize() {
 		treeMapArray = new ArrayList<TreeMap<Double, Location>>();
+		placeOccupancy = new PlaceOccupancy(SimSettings.PLACE_TYPES.values().length);
 		
 		ExponentialDistribution[] expRngList = new ExponentialDistribution[SimSettings.getInstance().getNumOfEdgeDatacenters()];
 
@@ -71,6 +73,7 @@ public class NomadicMobility extends MobilityModel {
 
 			//start locating user from 10th seconds
 			treeMapArray.get(i).put((double)10, new Location(placeType, wlan_id, x_pos, y_pos));
+			placeOccupancy.deviceMoved(10, -1, placeType.ordinal());
 		}
 		
 		for(int i=0; i<numberOfMobileDevices; i++) {
@@ -94,7 +97,10 @@ public class NomadicMobility extends MobilityModel {
 						int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
 						int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
 						
-						treeMap.put(treeMap.lastKey()+waitingTime, new Location(placeType, wlan_id, x_pos, y_pos));
+						int previousPlace = treeMap.lastEntry().getValue().getPlaceType().ordinal();
+						double moveTime = treeMap.lastKey()+waitingTime;
+						treeMap.put(moveTime, new Location(placeType, wlan_id, x_pos, y_pos));
+						placeOccupancy.deviceMoved(moveTime, previousPlace, placeType.ordinal());
 					}
 				}
 				if(!placeFound){
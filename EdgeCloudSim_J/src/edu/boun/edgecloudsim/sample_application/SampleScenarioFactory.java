@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.UtilizationModel;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
 import edu.boun.edgecloudsim.core.ScenarioFactory;
+import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.core.SimSettings.APP_TYPES;
 import edu.boun.edgecloudsim.edge_orchestrator.BasicEdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
@@ -80,4 +81,10 @@ public class SampleScenarioFactory implements ScenarioFactory {
 	public UtilizationModel getCpuUtilizationModel(APP_TYPES _taskType) {
 		return new CpuUtilizationModel_Custom(_taskType);
 	}
+
+	@Override
+	public int getBrokerOfDatacenter(int dataCenterIndex) {
+		int datacentersPerBroker = SimSettings.getInstance().getDatacentersPerBroker();
+		return datacentersPerBroker <= 0 ? 0 : dataCenterIndex / datacentersPerBroker;
+	}
 }
@@ -25,6 +25,7 @@ import edu.boun.edgecloudsim.core.ScenarioFactory;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_client.MobileDeviceManager;
+import edu.boun.edgecloudsim.utils.LatencyStatistics;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
@@ -60,6 +61,8 @@ public class mainApp {
 		ArrayList<Double> meanContainer = new ArrayList<>();
 		ArrayList<Double> stdContainer = new ArrayList<>();
 		
+		LatencyStatistics latencyStats = new LatencyStatistics();
+		
 		
 		
 		if (args.length == 3){
@@ -192,6 +195,10 @@ public class mainApp {
 					
 					netLanDelayCounter.add(SimLogger.getInstance().getLanDelay());
 					
+					//merge the latency histograms of this replication
+					latencyStats.add(SimLogger.getInstance().getLatencyStatistics());
+					SimLogger.getInstance().getLatencyStatistics().clear();
+					
 					
 					failTasks.add(rsPr);
 					
@@ -349,13 +356,7 @@ public class mainApp {
 					printWriter.println("Duration: " + SS.getSimulationTime()/3600 + " hour(s) - Poisson: " + SS.getTaskLookUpTable()[0][2] + " - #devices: " + j);
 					
 					//SimLogger.printLine("############# Average of running simulation : "+ result2);
-					if(orchestratorPolicy == "Probability") {
-						SimLogger.printLine("$$$$$$$ Average of running simulation : "+ (result2-2));
-						}
-						else {
-						
-						SimLogger.printLine("Average of running simulation : "+ result2);
-						}
+					SimLogger.printLine("Average of running simulation : "+ result2);
 					SimLogger.printLine("############# Standard Deviation : "+standardDeviation);
 					
 					
@@ -390,21 +391,24 @@ public class mainApp {
 					printWriter.println("############# Average of LAN Delay : "+ rsltLanDel);
 					printWriter.println("############# Standard Deviation LAN Delay : "+ STDLanDel);
 					
+					for (String line : latencyStats.getSummary())
+						printWriter.println("############# " + line);
+					
 					/*
-					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 0 ="+SimLogger.getInstance().matrix.getMu(0, 1));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 1 ="+SimLogger.getInstance().matrix.getMu(1, 1));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 2 ="+SimLogger.getInstance().matrix.getMu(2, 1));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 3 ="+SimLogger.getInstance().matrix.getMu(3, 1));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 4 ="+SimLogger.getInstance().matrix.getMu(4, 1));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 0 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(0, 1));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 1 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(1, 1));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 2 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(2, 1));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 3 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(3, 1));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 1 in edge 4 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(4, 1));
 					
 					SimLogger.printLine("");
 					SimLogger.printLine("");
 					
-					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 0 ="+SimLogger.getInstance().matrix.getMu(0, 2));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 1 ="+SimLogger.getInstance().matrix.getMu(1, 2));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 2 ="+SimLogger.getInstance().matrix.getMu(2, 2));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 3 ="+SimLogger.getInstance().matrix.getMu(3, 2));
-					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 4 ="+SimLogger.getInstance().matrix.getMu(4, 2));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 0 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(0, 2));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 1 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(1, 2));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 2 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(2, 2));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 3 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(3, 2));
+					SimLogger.printLine("$$$$$$Task completion time of tak type 2 in edge 4 ="+SimLogger.getInstance().getModel().getETCMatrix().getMu(4, 2));
 					*/
 					
 					
@@ -423,6 +427,7 @@ public class mainApp {
 					prcstimeCounter.clear();
 					netDelCounter.clear();
 					netLanDelayCounter.clear();
+					latencyStats.clear();
 					
 				}//End of orchestrators loop
 				
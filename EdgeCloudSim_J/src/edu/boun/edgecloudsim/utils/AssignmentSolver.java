@@ -0,0 +1,81 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+public final class AssignmentSolver {
+	/**
+	 *  Hungarian method for the rectangular assignment problem: every row
+	 *  gets a distinct column so that the total cost is minimal. The cost
+	 *  of (row, column) is cost[row * columns + column] and there must be
+	 *  at least as many columns as rows. Runs in O(rows^2 * columns).
+	 */
+	private AssignmentSolver() {
+	}
+
+	/**
+	 * Returns the column assigned to every row
+	 */
+	public static int[] solve(double[] cost, int rows, int columns) {
+		if (rows > columns)
+			throw new IllegalArgumentException("Can not assign " + rows + " rows to " + columns + " columns");
+
+		// potentials and matching are 1-based, index 0 is the virtual start
+		double[] u = new double[rows + 1];
+		double[] v = new double[columns + 1];
+		int[] rowOfColumn = new int[columns + 1];
+		int[] way = new int[columns + 1];
+		double[] minSlack = new double[columns + 1];
+		boolean[] used = new boolean[columns + 1];
+
+		for (int row = 1; row <= rows; row++) {
+			rowOfColumn[0] = row;
+			int column = 0;
+			Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+			Arrays.fill(used, false);
+
+			do {
+				used[column] = true;
+				int currentRow = rowOfColumn[column];
+				double delta = Double.POSITIVE_INFINITY;
+				int next = 0;
+				for (int j = 1; j <= columns; j++) {
+					if (used[j])
+						continue;
+					double slack = cost[(currentRow - 1) * columns + (j - 1)] - u[currentRow] - v[j];
+					if (slack < minSlack[j]) {
+						minSlack[j] = slack;
+						way[j] = column;
+					}
+					if (minSlack[j] < delta) {
+						delta = minSlack[j];
+						next = j;
+					}
+				}
+				for (int j = 0; j <= columns; j++) {
+					if (used[j]) {
+						u[rowOfColumn[j]] += delta;
+						v[j] -= delta;
+					} else {
+						minSlack[j] -= delta;
+					}
+				}
+				column = next;
+			} while (rowOfColumn[column] != 0);
+
+			// flip the augmenting path
+			do {
+				int previous = way[column];
+				rowOfColumn[column] = rowOfColumn[previous];
+				column = previous;
+			} while (column != 0);
+		}
+
+		int[] assignment = new int[rows];
+		for (int j = 1; j <= columns; j++) {
+			if (rowOfColumn[j] != 0)
+				assignment[rowOfColumn[j] - 1] = j - 1;
+		}
+		return assignment;
+	}
+
+}
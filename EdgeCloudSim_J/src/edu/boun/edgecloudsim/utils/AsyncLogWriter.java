@@ -0,0 +1,251 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+public class AsyncLogWriter {
+	/**
+	 *  Single background thread writing the text logs.
+	 *  Producers claim a slot of a bounded ring buffer with a CAS on the tail
+	 *  and publish it through the per slot sequence; the writer thread is the
+	 *  only consumer. Producers wait while the ring is full, so the memory held
+	 *  by pending records is bounded.
+	 */
+	public static class LogFile {
+		private final File file;
+		private final boolean append;
+		private OutputStream out; // only touched by the writer thread
+
+		private LogFile(File _file, boolean _append) {
+			file = _file;
+			append = _append;
+		}
+
+		public File getFile() {
+			return file;
+		}
+	}
+
+	private static final int CAPACITY = 8192; // must be a power of two
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+	private static final long WAIT_NANOS = 50000;
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(Charset.defaultCharset());
+
+	private static final int WRITE = 0;
+	private static final int CLOSE = 1;
+	private static final int FLUSH = 2;
+	private static final int CLOSE_ALL = 3;
+
+	private static AsyncLogWriter singleton = null;
+
+	private final int mask = CAPACITY - 1;
+	private final AtomicLongArray sequence = new AtomicLongArray(CAPACITY);
+	private final int[] ops = new int[CAPACITY];
+	private final LogFile[] files = new LogFile[CAPACITY];
+	private final Object[] payloads = new Object[CAPACITY];
+	private final AtomicLong tail = new AtomicLong();
+	private long head; // only touched by the writer thread
+
+	private final ArrayList<LogFile> openFiles = new ArrayList<LogFile>();
+	private final Thread writerThread;
+	private volatile boolean writerWaiting;
+	private volatile IOException error;
+
+	private AsyncLogWriter() {
+		for (int i = 0; i < CAPACITY; i++)
+			sequence.set(i, i);
+
+		writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				consume();
+			}
+		}, "SimLogger-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	public static synchronized AsyncLogWriter getInstance() {
+		if (singleton == null)
+			singleton = new AsyncLogWriter();
+		return singleton;
+	}
+
+	/**
+	 * Returns a handle for the file, the file is opened by the writer thread
+	 * @param file the log file
+	 * @param append true to append to an existing file
+	 */
+	public LogFile open(File file, boolean append) {
+		return new LogFile(file, append);
+	}
+
+	/**
+	 * Queues a line, the line separator is added by the writer
+	 */
+	public void write(LogFile file, String line) {
+		enqueue(WRITE, file, line.getBytes(Charset.defaultCharset()));
+	}
+
+	public void close(LogFile file) {
+		enqueue(CLOSE, file, null);
+	}
+
+	/**
+	 * Waits until every record queued before the call is written to disk
+	 * and rethrows the first error of the writer thread
+	 */
+	public void flush() throws IOException {
+		awaitWriter(FLUSH);
+	}
+
+	/**
+	 * Writes every record queued before the call and closes the files which
+	 * are still open, so no file of a run outlives it in the singleton
+	 */
+	public void closeAll() throws IOException {
+		awaitWriter(CLOSE_ALL);
+	}
+
+	private void awaitWriter(int op) throws IOException {
+		CountDownLatch latch = new CountDownLatch(1);
+		enqueue(op, null, latch);
+
+		boolean interrupted = false;
+		while (latch.getCount() > 0) {
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		IOException e = error;
+		if (e != null) {
+			error = null;
+			throw e;
+		}
+	}
+
+	private void enqueue(int op, LogFile file, Object payload) {
+		while (true) {
+			long t = tail.get();
+			int index = (int) t & mask;
+			long seq = sequence.get(index);
+
+			if (seq == t) {
+				if (tail.compareAndSet(t, t + 1)) {
+					ops[index] = op;
+					files[index] = file;
+					payloads[index] = payload;
+					sequence.set(index, t + 1);
+					if (writerWaiting)
+						LockSupport.unpark(writerThread);
+					return;
+				}
+			} else if (seq < t) {
+				// ring is full, wait for the writer
+				LockSupport.unpark(writerThread);
+				LockSupport.parkNanos(WAIT_NANOS);
+			}
+		}
+	}
+
+	private void consume() {
+		while (true) {
+			int index = (int) head & mask;
+
+			if (sequence.get(index) != head + 1) {
+				writerWaiting = true;
+				if (sequence.get(index) != head + 1)
+					LockSupport.parkNanos(this, WAIT_NANOS * 20);
+				writerWaiting = false;
+				continue;
+			}
+
+			int op = ops[index];
+			LogFile file = files[index];
+			Object payload = payloads[index];
+			files[index] = null;
+			payloads[index] = null;
+			sequence.set(index, head + CAPACITY);
+			head++;
+
+			try {
+				if (op == WRITE)
+					writeRecord(file, (byte[]) payload);
+				else if (op == CLOSE)
+					closeRecord(file);
+			} catch (IOException e) {
+				if (error == null)
+					error = e;
+			}
+
+			if (op == FLUSH) {
+				flushOpenFiles();
+				((CountDownLatch) payload).countDown();
+			} else if (op == CLOSE_ALL) {
+				closeOpenFiles();
+				((CountDownLatch) payload).countDown();
+			}
+		}
+	}
+
+	private void writeRecord(LogFile file, byte[] data) throws IOException {
+		if (file.out == null) {
+			file.out = new BufferedOutputStream(new FileOutputStream(file.file, file.append), OUTPUT_BUFFER_SIZE);
+			openFiles.add(file);
+		}
+		file.out.write(data);
+		file.out.write(LINE_SEPARATOR);
+	}
+
+	private void closeRecord(LogFile file) throws IOException {
+		if (file.out == null) {
+			// nothing was written, create the file as FileWriter would
+			new FileOutputStream(file.file, file.append).close();
+			return;
+		}
+		openFiles.remove(file);
+		OutputStream out = file.out;
+		file.out = null;
+		out.close();
+	}
+
+	private void flushOpenFiles() {
+		for (LogFile file : openFiles) {
+			try {
+				file.out.flush();
+			} catch (IOException e) {
+				if (error == null)
+					error = e;
+			}
+		}
+	}
+
+	private void closeOpenFiles() {
+		for (LogFile file : openFiles) {
+			try {
+				OutputStream out = file.out;
+				file.out = null;
+				out.close();
+			} catch (IOException e) {
+				if (error == null)
+					error = e;
+			}
+		}
+		openFiles.clear();
+	}
+
+}
@@ -0,0 +1,165 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryLogReader {
+	/**
+	 *  Memory-maps a log written by BinaryLogWriter.
+	 *  Files larger than 2GB are mapped as several segments,
+	 *  each holding a whole number of records.
+	 */
+	private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+	private MappedByteBuffer[] segments;
+	private int recordType;
+	private int recordSize;
+	private int recordsPerSegment;
+	private long numOfRecords;
+
+	public BinaryLogReader(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < BinaryLogWriter.HEADER_SIZE)
+				throw new IOException("File is too short for a binary log: " + file);
+
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryLogWriter.HEADER_SIZE);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			if (header.getInt(0) != BinaryLogWriter.MAGIC)
+				throw new IOException("Not a binary log: " + file);
+			if (header.getInt(4) != BinaryLogWriter.VERSION)
+				throw new IOException("Unsupported binary log version " + header.getInt(4) + ": " + file);
+
+			recordType = header.getInt(8);
+			recordSize = header.getInt(12);
+			numOfRecords = (fileSize - BinaryLogWriter.HEADER_SIZE) / recordSize;
+			recordsPerSegment = (int) (MAX_SEGMENT_SIZE / recordSize);
+
+			int numOfSegments = (int) ((numOfRecords + recordsPerSegment - 1) / recordsPerSegment);
+			segments = new MappedByteBuffer[numOfSegments];
+			for (int i = 0; i < numOfSegments; i++) {
+				long first = (long) i * recordsPerSegment;
+				long count = Math.min(recordsPerSegment, numOfRecords - first);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						BinaryLogWriter.HEADER_SIZE + first * recordSize, count * recordSize);
+				segments[i].order(ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+	}
+
+	public int getRecordType() {
+		return recordType;
+	}
+
+	public long getNumOfRecords() {
+		return numOfRecords;
+	}
+
+	/**
+	 * Reads an int field of a record, see BinaryLogWriter for the offsets
+	 */
+	public int getInt(long record, int fieldOffset) {
+		return segment(record).getInt(position(record) + fieldOffset);
+	}
+
+	/**
+	 * Reads a double field of a record, see BinaryLogWriter for the offsets
+	 */
+	public double getDouble(long record, int fieldOffset) {
+		return segment(record).getDouble(position(record) + fieldOffset);
+	}
+
+	/*
+	 * task record fields
+	 */
+
+	public int getTaskId(long record) {
+		return getInt(record, BinaryLogWriter.TASK_ID);
+	}
+
+	public int getDatacenterId(long record) {
+		return getInt(record, BinaryLogWriter.DATACENTER_ID);
+	}
+
+	public int getHostID(long record) {
+		return getInt(record, BinaryLogWriter.HOST_ID);
+	}
+
+	public int getVmId(long record) {
+		return getInt(record, BinaryLogWriter.VM_ID);
+	}
+
+	public int getVmType(long record) {
+		return getInt(record, BinaryLogWriter.VM_TYPE);
+	}
+
+	public int getTaskType(long record) {
+		return getInt(record, BinaryLogWriter.TASK_TYPE);
+	}
+
+	public int getTaskLenght(long record) {
+		return getInt(record, BinaryLogWriter.TASK_LENGHT);
+	}
+
+	public int getTaskInputType(long record) {
+		return getInt(record, BinaryLogWriter.TASK_INPUT_TYPE);
+	}
+
+	public int getTaskOutputSize(long record) {
+		return getInt(record, BinaryLogWriter.TASK_OUTPUT_SIZE);
+	}
+
+	public SimLogger.TASK_STATUS getStatus(long record) {
+		return SimLogger.TASK_STATUS.values()[getInt(record, BinaryLogWriter.STATUS)];
+	}
+
+	public double getStartTime(long record) {
+		return getDouble(record, BinaryLogWriter.START_TIME);
+	}
+
+	public double getEndTime(long record) {
+		return getDouble(record, BinaryLogWriter.END_TIME);
+	}
+
+	public double getNetworkDelay(long record) {
+		return getDouble(record, BinaryLogWriter.NETWORK_DELAY);
+	}
+
+	/*
+	 * vm load record fields
+	 */
+
+	public double getTime(long record) {
+		return getDouble(record, BinaryLogWriter.TIME);
+	}
+
+	public double getVmLoad(long record) {
+		return getDouble(record, BinaryLogWriter.VM_LOAD);
+	}
+
+	/**
+	 * Returns the i-th load following the average, the datacenters come first
+	 */
+	public double getVmLoad(long record, int index) {
+		return getDouble(record, BinaryLogWriter.VM_LOAD_RECORD_SIZE + 8 * index);
+	}
+
+	public int getRecordSize() {
+		return recordSize;
+	}
+
+	private MappedByteBuffer segment(long record) {
+		if (record < 0 || record >= numOfRecords)
+			throw new IndexOutOfBoundsException("Record " + record + " is not in the log");
+		return segments[(int) (record / recordsPerSegment)];
+	}
+
+	private int position(long record) {
+		return (int) (record % recordsPerSegment) * recordSize;
+	}
+
+}
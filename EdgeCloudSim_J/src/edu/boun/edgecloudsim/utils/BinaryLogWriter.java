@@ -0,0 +1,168 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryLogWriter {
+	/**
+	 *  Writes fixed-width little-endian records through a FileChannel.
+	 *  Every file starts with a header of four ints:
+	 *  magic number, format version, record type and record size in bytes.
+	 */
+	public static final int MAGIC = 0x45435349; // "ECSI"
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 16;
+
+	public static final int TASK_RECORD = 1;
+	public static final int VM_LOAD_RECORD = 2;
+
+	/**
+	 * Byte offsets of the fields of a task record
+	 */
+	public static final int TASK_ID = 0;
+	public static final int DATACENTER_ID = 4;
+	public static final int HOST_ID = 8;
+	public static final int VM_ID = 12;
+	public static final int VM_TYPE = 16;
+	public static final int TASK_TYPE = 20;
+	public static final int TASK_LENGHT = 24;
+	public static final int TASK_INPUT_TYPE = 28;
+	public static final int TASK_OUTPUT_SIZE = 32;
+	public static final int STATUS = 36;
+	public static final int START_TIME = 40;
+	public static final int END_TIME = 48;
+	public static final int NETWORK_DELAY = 56;
+	public static final int TASK_RECORD_SIZE = 64;
+
+	/**
+	 * Byte offsets of the fields of a vm load record, the average load
+	 * is followed by the load of each datacenter and then of each VM
+	 */
+	public static final int TIME = 0;
+	public static final int VM_LOAD = 8;
+	public static final int VM_LOAD_RECORD_SIZE = 16;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private FileChannel channel;
+	private ByteBuffer buffer;
+	private int recordType;
+	private int recordSize;
+
+	/**
+	 * Creates (or truncates) the file and writes the header
+	 * @param file the log file
+	 * @param _recordType TASK_RECORD or VM_LOAD_RECORD
+	 */
+	public BinaryLogWriter(File file, int _recordType) throws IOException {
+		this(file, _recordType, getRecordSize(_recordType));
+	}
+
+	/**
+	 * Creates (or truncates) the file and writes the header
+	 * @param file the log file
+	 * @param _recordType TASK_RECORD or VM_LOAD_RECORD
+	 * @param _recordSize the record size in bytes
+	 */
+	public BinaryLogWriter(File file, int _recordType, int _recordSize) throws IOException {
+		if (_recordType != TASK_RECORD && _recordType != VM_LOAD_RECORD)
+			throw new IllegalArgumentException("Unknown record type " + _recordType);
+		if (_recordSize < getRecordSize(_recordType) || _recordSize > BUFFER_SIZE)
+			throw new IllegalArgumentException("Invalid record size " + _recordSize);
+
+		recordType = _recordType;
+		recordSize = _recordSize;
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(recordType);
+		buffer.putInt(recordSize);
+	}
+
+	public static int getRecordSize(int recordType) {
+		return recordType == TASK_RECORD ? TASK_RECORD_SIZE : VM_LOAD_RECORD_SIZE;
+	}
+
+	/**
+	 * Writes the task record of a logged task
+	 */
+	public void writeTask(TaskLogStore taskLog, int taskId) throws IOException {
+		if (recordType != TASK_RECORD)
+			throw new IllegalStateException("Not a task log");
+
+		reserve(TASK_RECORD_SIZE);
+		buffer.putInt(taskId);
+		buffer.putInt(taskLog.getDatacenterId(taskId));
+		buffer.putInt(taskLog.getHostID(taskId));
+		buffer.putInt(taskLog.getVmId(taskId));
+		buffer.putInt(taskLog.getVmType(taskId));
+		buffer.putInt(taskLog.getTaskType(taskId));
+		buffer.putInt(taskLog.getTaskLenght(taskId));
+		buffer.putInt(taskLog.getTaskInputType(taskId));
+		buffer.putInt(taskLog.getTaskOutputSize(taskId));
+		buffer.putInt(taskLog.getStatus(taskId).ordinal());
+		buffer.putDouble(taskLog.getStartTime(taskId));
+		buffer.putDouble(taskLog.getEndTime(taskId));
+		buffer.putDouble(taskLog.getNetworkDelay(taskId));
+	}
+
+	public void writeVmLoad(double time, double load) throws IOException {
+		if (recordType != VM_LOAD_RECORD)
+			throw new IllegalStateException("Not a vm load log");
+
+		if (recordSize != VM_LOAD_RECORD_SIZE)
+			throw new IllegalStateException("Record size is " + recordSize + " bytes");
+
+		reserve(VM_LOAD_RECORD_SIZE);
+		buffer.putDouble(time);
+		buffer.putDouble(load);
+	}
+
+	/**
+	 * Writes a point of the utilization series, the record size must be
+	 * 16 + 8 * (number of datacenters + number of VMs) bytes
+	 */
+	public void writeVmLoad(UtilizationRecorder recorder, int point) throws IOException {
+		if (recordType != VM_LOAD_RECORD)
+			throw new IllegalStateException("Not a vm load log");
+		if (recordSize != getVmLoadRecordSize(recorder))
+			throw new IllegalStateException("Record size is " + recordSize + " bytes");
+
+		reserve(recordSize);
+		buffer.putDouble(recorder.getTime(point));
+		buffer.putDouble(recorder.getAvgLoad(point));
+		for (int dc = 0; dc < recorder.getNumOfDatacenters(); dc++)
+			buffer.putDouble(recorder.getDatacenterLoad(point, dc));
+		for (int vm = 0; vm < recorder.getNumOfVms(); vm++)
+			buffer.putDouble(recorder.getVmLoad(point, vm));
+	}
+
+	public static int getVmLoadRecordSize(UtilizationRecorder recorder) {
+		return VM_LOAD_RECORD_SIZE + 8 * (recorder.getNumOfDatacenters() + recorder.getNumOfVms());
+	}
+
+	private void reserve(int length) throws IOException {
+		if (buffer.remaining() < length)
+			flush();
+	}
+
+	public void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	public void close() throws IOException {
+		flush();
+		channel.close();
+	}
+
+}
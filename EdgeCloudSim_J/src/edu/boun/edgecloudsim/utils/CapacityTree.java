@@ -0,0 +1,138 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+public final class CapacityTree {
+	/**
+	 *  Segment tree over the free capacity of a fixed number of slots.
+	 *  Every node keeps the minimum and maximum free capacity of its range,
+	 *  so the queries only descend into the subtrees that can hold a slot
+	 *  with enough capacity. Node 1 covers [0, size), the children of node
+	 *  i are 2i and 2i + 1. A slot fits when required <= its free capacity.
+	 */
+	private final int size;
+	private final double[] min;
+	private final double[] max;
+
+	/**
+	 * Every slot starts with the same free capacity
+	 * @param _size the number of slots
+	 * @param capacity the initial free capacity of a slot
+	 */
+	public CapacityTree(int _size, double capacity) {
+		size = _size;
+		int nodes = 1;
+		while (nodes < size)
+			nodes <<= 1;
+		min = new double[2 * nodes];
+		max = new double[2 * nodes];
+		Arrays.fill(min, capacity);
+		Arrays.fill(max, capacity);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public double get(int slot) {
+		return get(1, 0, size, slot);
+	}
+
+	public void update(int slot, double capacity) {
+		update(1, 0, size, slot, capacity);
+	}
+
+	/**
+	 * Returns the first slot of [from, to) that fits, -1 if there is none
+	 */
+	public int firstFit(int from, int to, double required) {
+		return firstFit(1, 0, size, from, to, required);
+	}
+
+	/**
+	 * Returns the last slot of [from, to) that fits, -1 if there is none
+	 */
+	public int lastFit(int from, int to, double required) {
+		return lastFit(1, 0, size, from, to, required);
+	}
+
+	/**
+	 * Returns the number of slots of [from, to) that fit
+	 */
+	public int count(int from, int to, double required) {
+		return count(1, 0, size, from, to, required);
+	}
+
+	/**
+	 * Returns the slot of [from, to) that fits with the least free capacity,
+	 * the first one on ties, -1 if there is none
+	 */
+	public int bestFit(int from, int to, double required) {
+		return bestFit(1, 0, size, from, to, required, -1);
+	}
+
+	private double get(int node, int lo, int hi, int slot) {
+		if (hi - lo == 1)
+			return max[node];
+		int mid = (lo + hi) >>> 1;
+		return slot < mid ? get(2 * node, lo, mid, slot) : get(2 * node + 1, mid, hi, slot);
+	}
+
+	private void update(int node, int lo, int hi, int slot, double capacity) {
+		if (hi - lo == 1) {
+			min[node] = capacity;
+			max[node] = capacity;
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		if (slot < mid)
+			update(2 * node, lo, mid, slot, capacity);
+		else
+			update(2 * node + 1, mid, hi, slot, capacity);
+		min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+		max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+	}
+
+	private int firstFit(int node, int lo, int hi, int from, int to, double required) {
+		if (hi <= from || to <= lo || !(required <= max[node]))
+			return -1;
+		if (hi - lo == 1)
+			return lo;
+		int mid = (lo + hi) >>> 1;
+		int result = firstFit(2 * node, lo, mid, from, to, required);
+		return result != -1 ? result : firstFit(2 * node + 1, mid, hi, from, to, required);
+	}
+
+	private int lastFit(int node, int lo, int hi, int from, int to, double required) {
+		if (hi <= from || to <= lo || !(required <= max[node]))
+			return -1;
+		if (hi - lo == 1)
+			return lo;
+		int mid = (lo + hi) >>> 1;
+		int result = lastFit(2 * node + 1, mid, hi, from, to, required);
+		return result != -1 ? result : lastFit(2 * node, lo, mid, from, to, required);
+	}
+
+	private int count(int node, int lo, int hi, int from, int to, double required) {
+		if (hi <= from || to <= lo || !(required <= max[node]))
+			return 0;
+		if (from <= lo && hi <= to && required <= min[node])
+			return hi - lo;
+		int mid = (lo + hi) >>> 1;
+		return count(2 * node, lo, mid, from, to, required) + count(2 * node + 1, mid, hi, from, to, required);
+	}
+
+	private int bestFit(int node, int lo, int hi, int from, int to, double required, int best) {
+		if (hi <= from || to <= lo || !(required <= max[node]))
+			return best;
+		// nothing in this subtree is tighter than the current best
+		if (best != -1 && min[node] >= get(best))
+			return best;
+		if (hi - lo == 1)
+			return lo;
+		int mid = (lo + hi) >>> 1;
+		best = bestFit(2 * node, lo, mid, from, to, required, best);
+		return bestFit(2 * node + 1, mid, hi, from, to, required, best);
+	}
+
+}
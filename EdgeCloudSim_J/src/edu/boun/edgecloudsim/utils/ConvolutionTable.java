@@ -0,0 +1,97 @@
+package edu.boun.edgecloudsim.utils;
+
+public final class ConvolutionTable {
+	/**
+	 *  Sum of the ETC and ETT distributions of every (base station, task type)
+	 *  with its confidence interval, and the mean ETC of every task type over
+	 *  all base stations. Everything depends only on the matrices, so the
+	 *  table is built once per ModelSnapshot and shared by every task until
+	 *  the epoch changes. The cell of (dataCenter, taskType) is at
+	 *  dataCenter * taskTypeNum + taskType.
+	 */
+	public static final double CONFIDENCE_LEVEL = 1.96;
+
+	private final long epoch;
+	private final int dataCenterNum;
+	private final int taskTypeNum;
+
+	private final double[] convMu;
+	private final double[] convSigma;
+	private final double[] ciLower;
+	private final double[] ciUpper;
+	private final double[] avgMu; // per task type
+
+	public ConvolutionTable(ModelSnapshot model) {
+		ETCMatrix etc = model.getETCMatrix();
+		ETTMatrix ett = model.getETTMatrix();
+
+		epoch = model.getEpoch();
+		dataCenterNum = etc.getDataCnum();
+		taskTypeNum = etc.getTaskTypeNum();
+
+		convMu = new double[dataCenterNum * taskTypeNum];
+		convSigma = new double[dataCenterNum * taskTypeNum];
+		ciLower = new double[dataCenterNum * taskTypeNum];
+		ciUpper = new double[dataCenterNum * taskTypeNum];
+		avgMu = new double[taskTypeNum];
+
+		double sqrtNumOfTasks = Math.sqrt(etc.getNumOfTasks());
+		for (int dc = 0; dc < dataCenterNum; dc++) {
+			for (int type = 0; type < taskTypeNum; type++) {
+				int offset = getOffset(dc, type);
+				double etcSigma = etc.getSigma(dc, type);
+				double ettSigma = ett.getSigma(dc, type);
+
+				convMu[offset] = etc.getMu(dc, type) + ett.getMu(dc, type);
+				convSigma[offset] = Math.sqrt(etcSigma * etcSigma + ettSigma * ettSigma);
+
+				double halfWidth = CONFIDENCE_LEVEL * convSigma[offset] / sqrtNumOfTasks;
+				ciLower[offset] = convMu[offset] - halfWidth;
+				ciUpper[offset] = convMu[offset] + halfWidth;
+
+				avgMu[type] += etc.getMu(dc, type);
+			}
+		}
+		for (int type = 0; type < taskTypeNum; type++)
+			avgMu[type] /= dataCenterNum;
+	}
+
+	public long getEpoch() {
+		return epoch;
+	}
+
+	public int getOffset(int dataCenter, int taskType) {
+		return dataCenter * taskTypeNum + taskType;
+	}
+
+	public double getMu(int offset) {
+		return convMu[offset];
+	}
+
+	public double getSigma(int offset) {
+		return convSigma[offset];
+	}
+
+	public double getCiLower(int offset) {
+		return ciLower[offset];
+	}
+
+	public double getCiUpper(int offset) {
+		return ciUpper[offset];
+	}
+
+	/**
+	 * Returns the probability of the convolved distribution finishing before the deadline
+	 */
+	public double getProbability(int offset, double deadLine) {
+		return NormalCdf.cdf(deadLine, convMu[offset], convSigma[offset]);
+	}
+
+	/**
+	 * Returns the mean ETC of a task type over all base stations
+	 */
+	public double getAverageMu(int taskType) {
+		return avgMu[taskType];
+	}
+
+}
@@ -0,0 +1,79 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+public final class DatacenterRanking {
+	/**
+	 *  Base stations of every task type sorted by their ETC mean, ties broken
+	 *  by the base station index. The ranking only depends on the ETC matrix,
+	 *  so it is built once per ModelSnapshot and reused until the epoch changes.
+	 */
+	private final long epoch;
+	private final int dataCenterNum;
+	private final int[] ranking; // [taskType * dataCenterNum + rank]
+	private final double[] rankedMu; // ETC mean of the same entry
+
+	public DatacenterRanking(ModelSnapshot model) {
+		final ETCMatrix etc = model.getETCMatrix();
+		int taskTypeNum = etc.getTaskTypeNum();
+
+		epoch = model.getEpoch();
+		dataCenterNum = etc.getDataCnum();
+		ranking = new int[taskTypeNum * dataCenterNum];
+		rankedMu = new double[taskTypeNum * dataCenterNum];
+
+		Integer[] order = new Integer[dataCenterNum];
+		for (int type = 0; type < taskTypeNum; type++) {
+			final int taskType = type;
+			for (int dc = 0; dc < dataCenterNum; dc++)
+				order[dc] = dc;
+
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					int result = Double.compare(etc.getMu(a, taskType), etc.getMu(b, taskType));
+					return result != 0 ? result : Integer.compare(a, b);
+				}
+			});
+
+			for (int rank = 0; rank < dataCenterNum; rank++) {
+				ranking[type * dataCenterNum + rank] = order[rank];
+				rankedMu[type * dataCenterNum + rank] = etc.getMu(order[rank], type);
+			}
+		}
+	}
+
+	public long getEpoch() {
+		return epoch;
+	}
+
+	public int getDataCnum() {
+		return dataCenterNum;
+	}
+
+	/**
+	 * Returns the base station at the given rank, rank 0 has the lowest ETC mean
+	 */
+	public int getDatacenter(int taskType, int rank) {
+		return ranking[taskType * dataCenterNum + rank];
+	}
+
+	/**
+	 * Returns the ETC mean of the base station at the given rank
+	 */
+	public double getMu(int taskType, int rank) {
+		return rankedMu[taskType * dataCenterNum + rank];
+	}
+
+	/**
+	 * Copies the k base stations with the lowest ETC mean
+	 * @return the number of base stations copied
+	 */
+	public int getTopK(int taskType, int k, int[] result) {
+		int count = Math.min(k, dataCenterNum);
+		System.arraycopy(ranking, taskType * dataCenterNum, result, 0, count);
+		return count;
+	}
+
+}
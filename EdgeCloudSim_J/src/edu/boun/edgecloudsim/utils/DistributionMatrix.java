@@ -0,0 +1,115 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+public class DistributionMatrix {
+	/**
+	 *  Mean and standard deviation of a normal distribution per cell,
+	 *  kept in contiguous primitive arrays. The cell of (dataCenter, vm, taskType)
+	 *  is at (dataCenter * vmNum + vm) * taskTypeNum + taskType;
+	 *  matrices without a VM dimension use vmNum = 1 and vm = 0.
+	 *  Cells without any sample are unknown. Cells are only written by the
+	 *  StatisticsCollector before the matrix is published in a ModelSnapshot.
+	 */
+	protected int dataCenterNum = 0;
+	protected int vmNum = 0;
+	protected int taskTypeNum = 0;
+
+	protected double[] mu;
+	protected double[] sigma;
+	protected boolean[] known;
+
+	/**
+	 * A parameterized constructor
+	 * @param _dataCenterNum the number of base stations
+	 * @param _vmNum the number of VMs, 1 if the matrix has no VM dimension
+	 * @param _taskTypeNum the number of task types
+	 */
+	public DistributionMatrix(int _dataCenterNum, int _vmNum, int _taskTypeNum) {
+		dataCenterNum = _dataCenterNum;
+		vmNum = _vmNum;
+		taskTypeNum = _taskTypeNum;
+
+		int size = dataCenterNum * vmNum * taskTypeNum;
+		mu = new double[size];
+		sigma = new double[size];
+		known = new boolean[size];
+	}
+
+	/**
+	 * Returns the cell of a task type on a VM of a base station
+	 */
+	public int getOffset(int dataCenter, int vm, int taskType) {
+		if (dataCenter < 0 || dataCenter >= dataCenterNum || vm < 0 || vm >= vmNum || taskType < 0 || taskType >= taskTypeNum) {
+			throw new ArrayIndexOutOfBoundsException("The Virtual Machine or the Task Type does not exist in this matrix");
+		}
+		return (dataCenter * vmNum + vm) * taskTypeNum + taskType;
+	}
+
+	void set(int offset, double mean, double stdev) {
+		mu[offset] = mean;
+		sigma[offset] = stdev;
+		known[offset] = true;
+	}
+
+	void clear() {
+		Arrays.fill(mu, 0);
+		Arrays.fill(sigma, 0);
+		Arrays.fill(known, false);
+	}
+
+	public boolean isKnown(int offset) {
+		return known[offset];
+	}
+
+	/**
+	 * Returns the mean of a cell, 0 if the cell is unknown
+	 */
+	public double getMu(int offset) {
+		return mu[offset];
+	}
+
+	/**
+	 * Returns the standard deviation of a cell, 0 if the cell is unknown
+	 */
+	public double getSigma(int offset) {
+		return sigma[offset];
+	}
+
+	/**
+	 * Returns the probability of finishing before the deadline,
+	 * 0 if the cell is unknown and 1 if its mean is still 0
+	 */
+	public double getProbability(int offset, double deadLine) {
+		if (!known[offset]) {
+			return 0.0;
+		}
+
+		// no completed task yet, assume the deadline is met
+		if (mu[offset] == 0) {
+			return 1.0;
+		}
+
+		return NormalCdf.cdf(deadLine, mu[offset], sigma[offset]);
+	}
+
+	/**
+	 * Returns the distribution of a cell, null if the cell is unknown
+	 */
+	public NormDistr getDistribution(int offset) {
+		return known[offset] ? new NormDistr(mu[offset], sigma[offset]) : null;
+	}
+
+	public int getDataCnum() {
+		return dataCenterNum;
+	}
+
+	public int getVmNum() {
+		return vmNum;
+	}
+
+	public int getTaskTypeNum() {
+		return taskTypeNum;
+	}
+
+}
@@ -1,89 +1,31 @@
 package edu.boun.edgecloudsim.utils;
 
-import java.util.HashMap;
-
-import org.apache.commons.math3.distribution.NormalDistribution;
-
-import edu.boun.edgecloudsim.core.SimSettings;
-
-public class ETCMatrix {
+public class ETCMatrix extends DistributionMatrix {
 	/**
 	 *  The matrix is holding a mean and a standard deviation 
 	 *  for each type of task on every base station
 	 */
-	protected NormDistr[][] etcMatrix = null;
-	
-	/**
-	 * The number of Virtual Machines in the simulation and
-	 * the number of Task Types
-	 */
-	protected int dataCenterNum = 0;
-	protected int taskTypeNum = 0;
-	
-	
-	protected HashMap<String, NormDistr> distributions;
-
-	private String[] arrays;
-	private int numOfTasks;
+	private final int numOfTasks;
 	
 	public int getNumOfTasks() {
 		return numOfTasks;
 	}
 
-	public void setNumOfTasks(int numOfTasks) {
-		this.numOfTasks = numOfTasks;
-	}
-
 	/**
-	 * A private constructor to ensure that only 
-	 * an correct initialized matrix could be created
+	 * A parameterized constructor, the cells are filled by the StatisticsCollector
+	 * @param _dataCenterNum takes the total number of base stations in the simulation 
+	 * @param _taskTypeNum takes the total number of Task Types in the simulation
+	 * @param numOfTasks the number of tasks logged so far
 	 */
 	
-	@SuppressWarnings("unused")
-	private ETCMatrix() {
-		
-	};
-	
-	/**
-	 * A parameterized constructor
-	 * @param vmTotalNum takes the total number of VMs in the simulation 
-	 * @param cloudletTotalnum takes the total number of Cloudlet Types in the simulation
-	 */
-	
-	public ETCMatrix(int _dataCenterNum, int _taskTypeNum, HashMap<String, NormDistr> _distributions, int numOfTasks) {
-		
-		this.dataCenterNum = _dataCenterNum;
-		this.taskTypeNum = _taskTypeNum;
-		this.etcMatrix = new NormDistr[dataCenterNum][taskTypeNum];
-		this.distributions = _distributions;
+	public ETCMatrix(int _dataCenterNum, int _taskTypeNum, int numOfTasks) {
+		super(_dataCenterNum, 1, _taskTypeNum);
 		this.numOfTasks = numOfTasks;
-		
-		for(String key: distributions.keySet()) {
-			
-			arrays = key.split("\\.");
-			
-			int row = Integer.parseInt(arrays[0]);
-			int column = Integer.parseInt(arrays[1]);
-			
-			if(row >= 1000) {
-				row = row%1000;
-				
-			}
-			
-			//SimLogger.printLine(" Row : "+row+" Column : "+column);
-			
-			NormDistr newDistribution = distributions.get(key);
-			this.etcMatrix[row][column] = newDistribution;
-			
-			
-			}
-		}
-	
-	public int getDataCnum() {
-		return dataCenterNum;
 	}
 	
-
+	public int getOffset(int dataCenter, int taskType) {
+		return getOffset(dataCenter, 0, taskType);
+	}
 	
 	/**
 	 * Returns the 
@@ -94,67 +36,30 @@ public class ETCMatrix {
 	
 	public NormDistr getDistribution(int dataCenterID, int taskType) {
 			
-			if (taskType > taskTypeNum || dataCenterID > dataCenterNum) {
-				throw new ArrayIndexOutOfBoundsException("The Virtual Machine or the Task Type does not exist in this ETC");
-			}
-			
-			return etcMatrix[dataCenterID][taskType];
+			return getDistribution(getOffset(dataCenterID, taskType));
 		}
-
-		/**
-		 * Inputs the LognormalDistributions from the HashMap into
-		 * the matrix (2d-array)
-		 */
 	
 
 	public double getMu(int dataCenter, int taskType) {
 		
-		if(etcMatrix[dataCenter][taskType] == null) {
-			return 0;
-		}
-		
-		NormDistr distr = etcMatrix[dataCenter][taskType];
-	
-		return distr.mean;
+		return getMu(getOffset(dataCenter, taskType));
 	}
 	
 	public double getSigma(int dataCenter, int taskType) {
 		
-		if(etcMatrix[dataCenter][taskType] == null) {
-			return 0;
-		}
-		
-		NormDistr distr = etcMatrix[dataCenter][taskType];
-	
-		return distr.stdev;
+		return getSigma(getOffset(dataCenter, taskType));
 	}
 	
 	public double getWorseCaseTime(int dataCenter, int taskType) {
 		
-		if(etcMatrix[dataCenter][taskType] == null) {
-			return 0;
-		}
-		
-		NormDistr distr = etcMatrix[dataCenter][taskType];
-		return distr.mean+distr.stdev;
+		int offset = getOffset(dataCenter, taskType);
+		return getMu(offset) + getSigma(offset);
 		
 	}
 	
 	public double getProbability(int dataCenter, int taskType, double deadLine) {
 		
-		if(etcMatrix[dataCenter][taskType] == null) {
-			return 0.0;
-		}
-		NormDistr distr = etcMatrix[dataCenter][taskType];
-		
-		if(distr.mean == 0 || distr.stdev == 0) {
-			return 1.0;
-		}
-		
-		NormalDistribution newDistr = new NormalDistribution(distr.mean, distr.stdev);
-		
-		return newDistr.cumulativeProbability(deadLine);
-		
+		return getProbability(getOffset(dataCenter, taskType), deadLine);
 		
 	}
 	
@@ -163,12 +68,12 @@ public class ETCMatrix {
 		
 		for(int i= 0; i < dataCenterNum; i++) {
 			for(int j = 0; j < taskTypeNum; j++) {
-				NormDistr distr = etcMatrix[i][j];
-				if(distr == null) {
+				int offset = getOffset(i, j);
+				if(!isKnown(offset)) {
 					break;
 				}
 				else {
-					System.out.println("Task type " + j + " on DataCenter " + i + " has mean of " + distr.getMean() + " and stdv of "+ distr.getStdev());
+					System.out.println("Task type " + j + " on DataCenter " + i + " has mean of " + getMu(offset) + " and stdv of "+ getSigma(offset));
 				}
 			}
 				
@@ -0,0 +1,172 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+public class LatencyHistogram {
+	/**
+	 *  Log-linear bucketed histogram of non-negative values (in the style of
+	 *  HdrHistogram). Values are counted in units of 'resolution'; the first
+	 *  2^subBucketBits units have a bucket each, above that every power of two
+	 *  is split into 2^(subBucketBits-1) buckets, so the relative error stays
+	 *  below 2^-subBucketBits. The bucket array only grows with the largest
+	 *  recorded value, never with the number of values.
+	 */
+	public static final double DEFAULT_RESOLUTION = 1e-6; // one microsecond
+	public static final int DEFAULT_SUB_BUCKET_BITS = 7;
+
+	protected double resolution;
+	protected int subBucketBits;
+
+	private int subBucketCount;
+	private int subBucketHalfCount;
+	private long[] counts;
+	private long totalCount;
+	private double sum;
+	private double min;
+	private double max;
+
+	public LatencyHistogram() {
+		this(DEFAULT_RESOLUTION, DEFAULT_SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * A parameterized constructor
+	 * @param _resolution the smallest distinguishable value
+	 * @param _subBucketBits log2 of the number of linear buckets
+	 */
+	public LatencyHistogram(double _resolution, int _subBucketBits) {
+		if (_resolution <= 0)
+			throw new IllegalArgumentException("Resolution must be positive");
+		if (_subBucketBits < 1 || _subBucketBits > 16)
+			throw new IllegalArgumentException("Invalid number of sub bucket bits " + _subBucketBits);
+
+		resolution = _resolution;
+		subBucketBits = _subBucketBits;
+		subBucketCount = 1 << subBucketBits;
+		subBucketHalfCount = subBucketCount / 2;
+		counts = new long[subBucketCount];
+		clear();
+	}
+
+	/**
+	 * Records a value, negative values are counted as zero
+	 */
+	public void record(double value) {
+		if (value < 0 || Double.isNaN(value))
+			value = 0;
+
+		int index = indexOf(toUnits(value));
+		if (index >= counts.length)
+			counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + subBucketHalfCount));
+		counts[index]++;
+
+		totalCount++;
+		sum += value;
+		if (value < min)
+			min = value;
+		if (value > max)
+			max = value;
+	}
+
+	/**
+	 * Adds the counts of another histogram with the same resolution and precision
+	 */
+	public void add(LatencyHistogram other) {
+		if (other.resolution != resolution || other.subBucketBits != subBucketBits)
+			throw new IllegalArgumentException("Histograms have different resolution or precision");
+		if (other.totalCount == 0)
+			return;
+
+		if (other.counts.length > counts.length)
+			counts = Arrays.copyOf(counts, other.counts.length);
+		for (int i = 0; i < other.counts.length; i++)
+			counts[i] += other.counts[i];
+
+		totalCount += other.totalCount;
+		sum += other.sum;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	public void clear() {
+		Arrays.fill(counts, 0);
+		totalCount = 0;
+		sum = 0;
+		min = Double.POSITIVE_INFINITY;
+		max = Double.NEGATIVE_INFINITY;
+	}
+
+	private long toUnits(double value) {
+		double units = value / resolution;
+		return units >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) units;
+	}
+
+	private int indexOf(long units) {
+		if (units < subBucketCount)
+			return (int) units;
+
+		int shift = (63 - Long.numberOfLeadingZeros(units)) - subBucketBits + 1;
+		int top = (int) (units >>> shift); // in [subBucketHalfCount, subBucketCount)
+		return subBucketCount + (shift - 1) * subBucketHalfCount + (top - subBucketHalfCount);
+	}
+
+	/*
+	 * Returns the middle of the value range of a bucket
+	 */
+	private double valueOf(int index) {
+		if (index < subBucketCount)
+			return (index + 0.5) * resolution;
+
+		int k = index - subBucketCount;
+		int shift = k / subBucketHalfCount + 1;
+		long top = k % subBucketHalfCount + subBucketHalfCount;
+		double lower = (double) (top << shift);
+		return (lower + (double) (1L << shift) / 2) * resolution;
+	}
+
+	/**
+	 * Returns the value below which the given percentage of the values fall
+	 * @param percentile the percentile in [0, 100]
+	 */
+	public double getPercentile(double percentile) {
+		if (totalCount == 0)
+			return 0.0;
+
+		long rank = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * totalCount);
+		if (rank < 1)
+			rank = 1;
+
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(max, Math.max(min, valueOf(i)));
+		}
+		return max;
+	}
+
+	public long getCount() {
+		return totalCount;
+	}
+
+	public double getMean() {
+		return totalCount == 0 ? 0.0 : sum / totalCount;
+	}
+
+	public double getMin() {
+		return totalCount == 0 ? 0.0 : min;
+	}
+
+	public double getMax() {
+		return totalCount == 0 ? 0.0 : max;
+	}
+
+	/**
+	 * Returns the p50/p95/p99/p99.9 values separated by '/'
+	 */
+	public String percentilesToString() {
+		return String.format("%.6f/%.6f/%.6f/%.6f", getPercentile(50), getPercentile(95),
+				getPercentile(99), getPercentile(99.9));
+	}
+
+}
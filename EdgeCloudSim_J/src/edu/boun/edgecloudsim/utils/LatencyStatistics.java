@@ -0,0 +1,176 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+public class LatencyStatistics {
+	/**
+	 *  Service time, processing time and network delay histograms of the
+	 *  completed tasks, one set per app type and execution datacenter.
+	 *  Keys have the format "taskType.datacenterId", the datacenter is its edge
+	 *  datacenter index.
+	 */
+	public static final int SERVICE_TIME = 0;
+	public static final int PROCESSING_TIME = 1;
+	public static final int NETWORK_DELAY = 2;
+	public static final int NUM_OF_METRICS = 3;
+
+	public static class Entry {
+		private final int taskType;
+		private final int datacenterId;
+		private final LatencyHistogram[] histograms = new LatencyHistogram[NUM_OF_METRICS];
+
+		private Entry(int _taskType, int _datacenterId) {
+			taskType = _taskType;
+			datacenterId = _datacenterId;
+			for (int i = 0; i < NUM_OF_METRICS; i++)
+				histograms[i] = new LatencyHistogram();
+		}
+
+		public int getTaskType() {
+			return taskType;
+		}
+
+		public int getDatacenterId() {
+			return datacenterId;
+		}
+
+		public LatencyHistogram getHistogram(int metric) {
+			return histograms[metric];
+		}
+	}
+
+	protected HashMap<String, Entry> entries = new HashMap<>();
+
+	public LatencyStatistics() {
+
+	}
+
+	/**
+	 * Records the latencies of a completed task
+	 * @param taskType the app type of the task
+	 * @param datacenterId the index of the edge datacenter which executed the task
+	 * @param serviceTime the service time of the task
+	 * @param processingTime the service time without the network delay
+	 * @param networkDelay the total network delay of the task
+	 */
+	public void taskCompleted(int taskType, int datacenterId,
+			double serviceTime, double processingTime, double networkDelay) {
+
+		Entry entry = getEntry(taskType, datacenterId);
+		entry.histograms[SERVICE_TIME].record(serviceTime);
+		entry.histograms[PROCESSING_TIME].record(processingTime);
+		entry.histograms[NETWORK_DELAY].record(networkDelay);
+	}
+
+	/**
+	 * Adds the histograms of another run, e.g. of another replication
+	 */
+	public void add(LatencyStatistics other) {
+		for (Entry otherEntry : other.entries.values()) {
+			Entry entry = getEntry(otherEntry.taskType, otherEntry.datacenterId);
+			for (int i = 0; i < NUM_OF_METRICS; i++)
+				entry.histograms[i].add(otherEntry.histograms[i]);
+		}
+	}
+
+	/**
+	 * Returns the entries ordered by app type and datacenter id
+	 */
+	public List<Entry> getEntries() {
+		List<Entry> list = new ArrayList<>(entries.values());
+		Collections.sort(list, new Comparator<Entry>() {
+			@Override
+			public int compare(Entry a, Entry b) {
+				if (a.taskType != b.taskType)
+					return Integer.compare(a.taskType, b.taskType);
+				return Integer.compare(a.datacenterId, b.datacenterId);
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * Returns the histogram of a metric merged over every app type and datacenter
+	 */
+	public LatencyHistogram getTotal(int metric) {
+		LatencyHistogram total = new LatencyHistogram();
+		for (Entry entry : entries.values())
+			total.add(entry.histograms[metric]);
+		return total;
+	}
+
+	/**
+	 * Returns the histogram of a metric merged over every datacenter of an app type
+	 */
+	public LatencyHistogram getTotal(int metric, int taskType) {
+		LatencyHistogram total = new LatencyHistogram();
+		for (Entry entry : entries.values()) {
+			if (entry.taskType == taskType)
+				total.add(entry.histograms[metric]);
+		}
+		return total;
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the p50/p95/p99/p99.9 lines of the totals followed by
+	 * a line for every app type and execution datacenter
+	 */
+	public List<String> getSummary() {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < NUM_OF_METRICS; i++) {
+			LatencyHistogram total = getTotal(i);
+			lines.add(getMetricName(i) + " p50/p95/p99/p99.9: "
+					+ total.percentilesToString() + " seconds. (" + total.getCount() + " tasks)");
+		}
+		for (Entry entry : getEntries()) {
+			StringBuilder sb = new StringBuilder();
+			sb.append(getTaskTypeName(entry.taskType)).append(" on datacenter ").append(entry.datacenterId);
+			for (int i = 0; i < NUM_OF_METRICS; i++)
+				sb.append(i == 0 ? ": " : ", ").append(getMetricName(i)).append(" ")
+						.append(entry.histograms[i].percentilesToString());
+			lines.add(sb.toString());
+		}
+		return lines;
+	}
+
+	private static String getTaskTypeName(int taskType) {
+		SimSettings.APP_TYPES[] types = SimSettings.APP_TYPES.values();
+		return taskType < types.length ? types[taskType].toString() : Integer.toString(taskType);
+	}
+
+	public static String getMetricName(int metric) {
+		switch (metric) {
+		case SERVICE_TIME:
+			return "service time";
+		case PROCESSING_TIME:
+			return "processing time";
+		default:
+			return "network delay";
+		}
+	}
+
+	private Entry getEntry(int taskType, int datacenterId) {
+		String key = taskType + "." + datacenterId;
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			entry = new Entry(taskType, datacenterId);
+			entries.put(key, entry);
+		}
+		return entry;
+	}
+
+}
@@ -0,0 +1,173 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+public final class LocationIndex {
+	/**
+	 *  Uniform grid over the positions of the edge hosts. Every point keeps
+	 *  the index of the datacenter it belongs to; the points of a cell are
+	 *  stored contiguously in cellPoints between cellStart[cell] and
+	 *  cellStart[cell + 1]. The cell size is chosen so that a cell holds
+	 *  about one point, a query only visits the cells around its position.
+	 *  Points are numbered in insertion order, so ties between equally
+	 *  distant points can be resolved like a linear scan would.
+	 */
+	private final int size;
+	private final int[] xPos;
+	private final int[] yPos;
+	private final int[] datacenter;
+
+	private final int minX;
+	private final int minY;
+	private final int cellSize;
+	private final int columns;
+	private final int rows;
+	private final int[] cellStart;
+	private final int[] cellPoints;
+
+	/**
+	 * Builds the grid, the arrays are indexed by point number
+	 * @param _xPos the x position of every point
+	 * @param _yPos the y position of every point
+	 * @param _datacenter the datacenter index of every point
+	 */
+	public LocationIndex(int[] _xPos, int[] _yPos, int[] _datacenter) {
+		size = _xPos.length;
+		xPos = Arrays.copyOf(_xPos, size);
+		yPos = Arrays.copyOf(_yPos, size);
+		datacenter = Arrays.copyOf(_datacenter, size);
+
+		int maxX = 0, maxY = 0;
+		int lowX = 0, lowY = 0;
+		for (int i = 0; i < size; i++) {
+			if (i == 0 || xPos[i] < lowX) lowX = xPos[i];
+			if (i == 0 || yPos[i] < lowY) lowY = yPos[i];
+			if (i == 0 || xPos[i] > maxX) maxX = xPos[i];
+			if (i == 0 || yPos[i] > maxY) maxY = yPos[i];
+		}
+		minX = lowX;
+		minY = lowY;
+
+		long width = (long) maxX - minX + 1;
+		long height = (long) maxY - minY + 1;
+		cellSize = (int) Math.max(1, Math.ceil(Math.sqrt((double) width * height / Math.max(1, size))));
+		columns = (int) ((width + cellSize - 1) / cellSize);
+		rows = (int) ((height + cellSize - 1) / cellSize);
+
+		// counting sort of the points by cell
+		cellStart = new int[columns * rows + 1];
+		cellPoints = new int[size];
+		for (int i = 0; i < size; i++)
+			cellStart[cellOf(i) + 1]++;
+		for (int cell = 0; cell < columns * rows; cell++)
+			cellStart[cell + 1] += cellStart[cell];
+		int[] next = Arrays.copyOf(cellStart, columns * rows);
+		for (int i = 0; i < size; i++)
+			cellPoints[next[cellOf(i)]++] = i;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getDatacenter(int point) {
+		return datacenter[point];
+	}
+
+	/**
+	 * Returns the closest point within maxDistance of the position, -1 if there is none.
+	 * Among equally distant points the one added last wins.
+	 */
+	public int nearest(int x, int y, double maxDistance) {
+		if (size == 0 || maxDistance < 0)
+			return -1;
+
+		int cx = clamp(column(x), columns);
+		int cy = clamp(row(y), rows);
+		int maxRing = Math.max(Math.max(cx, columns - 1 - cx), Math.max(cy, rows - 1 - cy));
+
+		int best = -1;
+		double bestDist = maxDistance * maxDistance;
+		for (int ring = 0; ring <= maxRing; ring++) {
+			// every point of the ring is at least this far away
+			double bound = (double) (ring - 1) * cellSize;
+			if (bound > 0 && bound * bound > bestDist)
+				break;
+
+			for (int row = cy - ring; row <= cy + ring; row++) {
+				if (row < 0 || row >= rows)
+					continue;
+				boolean edge = row == cy - ring || row == cy + ring;
+				int step = edge ? 1 : 2 * ring;
+				for (int col = cx - ring; col <= cx + ring; col += Math.max(1, step)) {
+					if (col < 0 || col >= columns)
+						continue;
+					int cell = row * columns + col;
+					for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+						int point = cellPoints[k];
+						double dist = distanceSquared(point, x, y);
+						if (dist < bestDist || (dist == bestDist && point > best)) {
+							bestDist = dist;
+							best = point;
+						}
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Copies the points within radius of the position in insertion order
+	 * @param result must have room for size() points
+	 * @return the number of points copied
+	 */
+	public int withinRadius(int x, int y, double radius, int[] result) {
+		if (size == 0 || radius < 0)
+			return 0;
+
+		int extent = (int) Math.ceil(radius);
+		int fromCol = clamp(column((long) x - extent), columns);
+		int toCol = clamp(column((long) x + extent), columns);
+		int fromRow = clamp(row((long) y - extent), rows);
+		int toRow = clamp(row((long) y + extent), rows);
+
+		double limit = radius * radius;
+		int count = 0;
+		for (int row = fromRow; row <= toRow; row++) {
+			for (int col = fromCol; col <= toCol; col++) {
+				int cell = row * columns + col;
+				for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+					int point = cellPoints[k];
+					if (distanceSquared(point, x, y) <= limit)
+						result[count++] = point;
+				}
+			}
+		}
+		Arrays.sort(result, 0, count);
+		return count;
+	}
+
+	private double distanceSquared(int point, int x, int y) {
+		double dx = (double) x - xPos[point];
+		double dy = (double) y - yPos[point];
+		return dx * dx + dy * dy;
+	}
+
+	private int cellOf(int point) {
+		return row(yPos[point]) * columns + column(xPos[point]);
+	}
+
+	private int column(long x) {
+		return (int) Math.floorDiv(x - minX, (long) cellSize);
+	}
+
+	private int row(long y) {
+		return (int) Math.floorDiv(y - minY, (long) cellSize);
+	}
+
+	private static int clamp(int value, int limit) {
+		return Math.max(0, Math.min(limit - 1, value));
+	}
+
+}
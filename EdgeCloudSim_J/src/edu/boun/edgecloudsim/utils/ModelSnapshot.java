@@ -0,0 +1,39 @@
+package edu.boun.edgecloudsim.utils;
+
+public final class ModelSnapshot {
+	/**
+	 *  Immutable ETC, ETT and PTC matrices built at the same checkpoint.
+	 *  SimLogger publishes a new snapshot through a single volatile reference,
+	 *  so a reader holding a snapshot always sees a consistent triple.
+	 *  The epoch grows with every published snapshot and can be used
+	 *  to invalidate values cached from an older one.
+	 */
+	private final long epoch;
+	private final ETCMatrix etcMatrix;
+	private final ETTMatrix ettMatrix;
+	private final PTCMatrix ptcMatrix;
+
+	public ModelSnapshot(long _epoch, ETCMatrix _etcMatrix, ETTMatrix _ettMatrix, PTCMatrix _ptcMatrix) {
+		epoch = _epoch;
+		etcMatrix = _etcMatrix;
+		ettMatrix = _ettMatrix;
+		ptcMatrix = _ptcMatrix;
+	}
+
+	public long getEpoch() {
+		return epoch;
+	}
+
+	public ETCMatrix getETCMatrix() {
+		return etcMatrix;
+	}
+
+	public ETTMatrix getETTMatrix() {
+		return ettMatrix;
+	}
+
+	public PTCMatrix getPTCMatrix() {
+		return ptcMatrix;
+	}
+
+}
@@ -0,0 +1,179 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+public final class NeighborGraph {
+	/**
+	 *  Neighboring base stations of every base station in compressed sparse
+	 *  row form: the neighbors of a base station are targets[offsets[dc]]
+	 *  up to targets[offsets[dc + 1]], sorted by index. The graph is built
+	 *  once at startup, so reading the neighbors of a base station does not
+	 *  allocate anything.
+	 */
+	private final int[] offsets;
+	private final int[] targets;
+	private final int maxDegree;
+
+	private NeighborGraph(int[][] neighbors) {
+		offsets = new int[neighbors.length + 1];
+		int degree = 0;
+		for (int dc = 0; dc < neighbors.length; dc++) {
+			offsets[dc + 1] = offsets[dc] + neighbors[dc].length;
+			degree = Math.max(degree, neighbors[dc].length);
+		}
+		maxDegree = degree;
+
+		targets = new int[offsets[neighbors.length]];
+		for (int dc = 0; dc < neighbors.length; dc++) {
+			int[] row = neighbors[dc].clone();
+			Arrays.sort(row);
+			System.arraycopy(row, 0, targets, offsets[dc], row.length);
+		}
+	}
+
+	/**
+	 * Base stations one unit away along either axis, the rule used by
+	 * the Probability policy on the grid of the sample topology
+	 */
+	public static NeighborGraph grid(int[] xPos, int[] yPos) {
+		int[][] neighbors = new int[xPos.length][];
+		int[] row = new int[xPos.length];
+		for (int dc = 0; dc < xPos.length; dc++) {
+			int count = 0;
+			for (int other = 0; other < xPos.length; other++) {
+				if (Math.abs(xPos[dc] - xPos[other]) == 1 || Math.abs(yPos[dc] - yPos[other]) == 1)
+					row[count++] = other;
+			}
+			neighbors[dc] = Arrays.copyOf(row, count);
+		}
+		return new NeighborGraph(neighbors);
+	}
+
+	/**
+	 * Base stations within the radius
+	 */
+	public static NeighborGraph radius(int[] xPos, int[] yPos, double radius) {
+		LocationIndex index = new LocationIndex(xPos, yPos, identity(xPos.length));
+		int[][] neighbors = new int[xPos.length][];
+		int[] row = new int[xPos.length];
+		for (int dc = 0; dc < xPos.length; dc++) {
+			int found = index.withinRadius(xPos[dc], yPos[dc], radius, row);
+			neighbors[dc] = withoutSelf(row, found, dc);
+		}
+		return new NeighborGraph(neighbors);
+	}
+
+	/**
+	 * The k closest base stations, ties broken by the base station index.
+	 * The relation is not symmetric.
+	 */
+	public static NeighborGraph nearest(final int[] xPos, final int[] yPos, int k) {
+		LocationIndex index = new LocationIndex(xPos, yPos, identity(xPos.length));
+		int[][] neighbors = new int[xPos.length][];
+		int[] row = new int[xPos.length];
+		int wanted = Math.min(k, xPos.length - 1);
+		for (int dc = 0; dc < xPos.length; dc++) {
+			if (wanted <= 0) {
+				neighbors[dc] = new int[0];
+				continue;
+			}
+
+			// grow the search radius until enough candidates are found
+			int found = 0;
+			for (double radius = 1; found <= wanted; radius *= 2)
+				found = index.withinRadius(xPos[dc], yPos[dc], radius, row);
+
+			int[] candidates = withoutSelf(row, found, dc);
+			Integer[] order = new Integer[candidates.length];
+			for (int i = 0; i < candidates.length; i++)
+				order[i] = candidates[i];
+			final int source = dc;
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					int result = Long.compare(distanceSquared(xPos, yPos, source, a), distanceSquared(xPos, yPos, source, b));
+					return result != 0 ? result : Integer.compare(a, b);
+				}
+			});
+
+			neighbors[dc] = new int[wanted];
+			for (int i = 0; i < wanted; i++)
+				neighbors[dc][i] = order[i];
+		}
+		return new NeighborGraph(neighbors);
+	}
+
+	/**
+	 * Links listed explicitly for every base station
+	 */
+	public static NeighborGraph explicit(int[][] links) {
+		for (int dc = 0; dc < links.length; dc++) {
+			for (int other : links[dc]) {
+				if (other < 0 || other >= links.length || other == dc)
+					throw new IllegalArgumentException("Datacenter " + dc + " can not have datacenter " + other + " as a neighbor");
+			}
+		}
+		return new NeighborGraph(links);
+	}
+
+	public int getDataCnum() {
+		return offsets.length - 1;
+	}
+
+	/**
+	 * Returns the position of the first neighbor of the base station
+	 */
+	public int getStart(int dataCenter) {
+		return offsets[dataCenter];
+	}
+
+	/**
+	 * Returns the position after the last neighbor of the base station
+	 */
+	public int getEnd(int dataCenter) {
+		return offsets[dataCenter + 1];
+	}
+
+	public int getDegree(int dataCenter) {
+		return offsets[dataCenter + 1] - offsets[dataCenter];
+	}
+
+	/**
+	 * Returns the largest number of neighbors of any base station
+	 */
+	public int getMaxDegree() {
+		return maxDegree;
+	}
+
+	/**
+	 * Returns the neighbor at a position between getStart and getEnd
+	 */
+	public int getNeighbor(int position) {
+		return targets[position];
+	}
+
+	private static int[] identity(int size) {
+		int[] result = new int[size];
+		for (int i = 0; i < size; i++)
+			result[i] = i;
+		return result;
+	}
+
+	private static int[] withoutSelf(int[] row, int count, int dc) {
+		int[] result = new int[count];
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			if (row[i] != dc)
+				result[size++] = row[i];
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	private static long distanceSquared(int[] xPos, int[] yPos, int a, int b) {
+		long dx = (long) xPos[a] - xPos[b];
+		long dy = (long) yPos[a] - yPos[b];
+		return dx * dx + dy * dy;
+	}
+
+}
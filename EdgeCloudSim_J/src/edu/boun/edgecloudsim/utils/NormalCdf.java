@@ -0,0 +1,45 @@
+package edu.boun.edgecloudsim.utils;
+
+public final class NormalCdf {
+	/**
+	 *  Cumulative distribution function of the normal distribution on raw
+	 *  mean/sigma values, without allocating a distribution object.
+	 *  erfc uses the Chebyshev fit of Numerical Recipes (erfcc), whose
+	 *  fractional error is below 1.2e-7 everywhere.
+	 *  A sigma of zero (or less) is a point mass at the mean.
+	 */
+	private static final double SQRT_2 = Math.sqrt(2.0);
+
+	private NormalCdf() {
+
+	}
+
+	/**
+	 * Returns P(X <= x) for X ~ N(mu, sigma^2)
+	 */
+	public static double cdf(double x, double mu, double sigma) {
+		if (!(sigma > 0))
+			return x >= mu ? 1.0 : 0.0;
+		return 0.5 * erfc(-(x - mu) / (sigma * SQRT_2));
+	}
+
+	/**
+	 * Returns P(Z <= z) for the standard normal distribution
+	 */
+	public static double standardCdf(double z) {
+		return 0.5 * erfc(-z / SQRT_2);
+	}
+
+	/**
+	 * Returns the complementary error function
+	 */
+	public static double erfc(double x) {
+		double z = Math.abs(x);
+		double t = 1.0 / (1.0 + 0.5 * z);
+		double ans = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+				+ t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+				+ t * (-0.82215223 + t * 0.17087277)))))))));
+		return x >= 0 ? ans : 2.0 - ans;
+	}
+
+}
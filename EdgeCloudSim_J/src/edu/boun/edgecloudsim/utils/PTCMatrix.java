@@ -0,0 +1,54 @@
+package edu.boun.edgecloudsim.utils;
+
+public class PTCMatrix extends DistributionMatrix {
+	/**
+	 *  The matrix is holding a mean and a standard deviation
+	 *  for each type of task on every VM of every base station
+	 */
+
+	/**
+	 * A parameterized constructor, the cells are filled by the StatisticsCollector
+	 * @param _dataCenterNum takes the total number of base stations in the simulation
+	 * @param _vmNum takes the total number of VMs in the simulation
+	 * @param _taskTypeNum takes the total number of Task Types in the simulation
+	 */
+
+	public PTCMatrix(int _dataCenterNum, int _vmNum, int _taskTypeNum) {
+		super(_dataCenterNum, _vmNum, _taskTypeNum);
+	}
+
+	public NormDistr getDistribution(int dataCenterID, int vmId, int taskType) {
+
+		return getDistribution(getOffset(dataCenterID, vmId, taskType));
+	}
+
+	public double getMu(int dataCenter, int vmId, int taskType) {
+
+		return getMu(getOffset(dataCenter, vmId, taskType));
+	}
+
+	public double getSigma(int dataCenter, int vmId, int taskType) {
+
+		return getSigma(getOffset(dataCenter, vmId, taskType));
+	}
+
+	public double getProbability(int dataCenter, int vmId, int taskType, double deadLine) {
+
+		return getProbability(getOffset(dataCenter, vmId, taskType), deadLine);
+	}
+
+	public void printMatrix() {
+
+		for(int i = 0; i < dataCenterNum; i++) {
+			for(int v = 0; v < vmNum; v++) {
+				for(int j = 0; j < taskTypeNum; j++) {
+					int offset = getOffset(i, v, j);
+					if(isKnown(offset)) {
+						System.out.println("Task type " + j + " on VM " + v + " of DataCenter " + i + " has mean of " + getMu(offset) + " and stdv of "+ getSigma(offset));
+					}
+				}
+			}
+		}
+	}
+
+}
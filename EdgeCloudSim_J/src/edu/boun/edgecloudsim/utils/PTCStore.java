@@ -0,0 +1,74 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+public class PTCStore {
+	/**
+	 *  PTC rows of every edge datacenter kept in a flat array.
+	 *  Each edge datacenter owns a numOfAppTypes x numOfDatacenters table,
+	 *  stored at [((edge - 1) * numOfAppTypes + (taskType - 1)) * numOfDatacenters + (dc - 1)].
+	 *  Edges, task types and datacenters are numbered from 1 as in the
+	 *  former edgePTC<N>.txt files.
+	 */
+	protected int numOfEdges;
+	protected int numOfAppTypes;
+	protected int numOfDatacenters;
+
+	private double[] values;
+
+	public PTCStore(int _numOfEdges, int _numOfAppTypes, int _numOfDatacenters) {
+		numOfEdges = _numOfEdges;
+		numOfAppTypes = _numOfAppTypes;
+		numOfDatacenters = _numOfDatacenters;
+		values = new double[numOfEdges * numOfAppTypes * numOfDatacenters];
+	}
+
+	public boolean contains(int edge, int taskType, int dc) {
+		return edge >= 1 && edge <= numOfEdges
+				&& taskType >= 1 && taskType <= numOfAppTypes
+				&& dc >= 1 && dc <= numOfDatacenters;
+	}
+
+	/**
+	 * Sets every row of an edge datacenter to zero
+	 */
+	public void reset(int edge) {
+		int tableSize = numOfAppTypes * numOfDatacenters;
+		int from = (edge - 1) * tableSize;
+		Arrays.fill(values, from, from + tableSize, 0);
+	}
+
+	public void clear() {
+		Arrays.fill(values, 0);
+	}
+
+	public double get(int edge, int taskType, int dc) {
+		return values[indexOf(edge, taskType, dc)];
+	}
+
+	public void set(int edge, int taskType, int dc, double value) {
+		values[indexOf(edge, taskType, dc)] = value;
+	}
+
+	public int getNumOfEdges() {
+		return numOfEdges;
+	}
+
+	/**
+	 * Returns a row as comma terminated values, the format of the edgePTC<N>.txt files
+	 */
+	public String toString(int edge, int taskType) {
+		StringBuilder sb = new StringBuilder();
+		int from = indexOf(edge, taskType, 1);
+		for (int dc = 0; dc < numOfDatacenters; dc++)
+			sb.append(values[from + dc]).append(',');
+		return sb.toString();
+	}
+
+	private int indexOf(int edge, int taskType, int dc) {
+		if (!contains(edge, taskType, dc))
+			throw new IndexOutOfBoundsException("No PTC entry for edge " + edge + ", task type " + taskType + ", datacenter " + dc);
+		return ((edge - 1) * numOfAppTypes + (taskType - 1)) * numOfDatacenters + (dc - 1);
+	}
+
+}
@@ -0,0 +1,98 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+public class PlaceOccupancy {
+	/**
+	 *  Number of devices in each place type as a step function of time.
+	 *  The mobility model reports every move; the arrival and departure
+	 *  times of each place are kept in sorted primitive arrays and swept
+	 *  forward, so reading the occupancy costs the number of moves instead
+	 *  of the number of devices at every sampled time.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	protected int numOfPlaces;
+
+	private double[][] arrivals;
+	private int[] arrivalCount;
+	private double[][] departures;
+	private int[] departureCount;
+	private boolean sorted;
+
+	// sweep state
+	private int[] arrivalIndex;
+	private int[] departureIndex;
+	private double sweepTime;
+
+	public PlaceOccupancy(int _numOfPlaces) {
+		numOfPlaces = _numOfPlaces;
+		arrivals = new double[numOfPlaces][INITIAL_CAPACITY];
+		departures = new double[numOfPlaces][INITIAL_CAPACITY];
+		arrivalCount = new int[numOfPlaces];
+		departureCount = new int[numOfPlaces];
+		arrivalIndex = new int[numOfPlaces];
+		departureIndex = new int[numOfPlaces];
+		rewind();
+	}
+
+	/**
+	 * Records that a device enters a place at the given time
+	 * @param time the time of the move
+	 * @param fromPlace the place type the device leaves, negative for the first placement
+	 * @param toPlace the place type the device enters
+	 */
+	public void deviceMoved(double time, int fromPlace, int toPlace) {
+		if (fromPlace >= 0) {
+			departures[fromPlace] = append(departures[fromPlace], departureCount[fromPlace]++, time);
+		}
+		arrivals[toPlace] = append(arrivals[toPlace], arrivalCount[toPlace]++, time);
+		sorted = false;
+	}
+
+	private static double[] append(double[] times, int index, double time) {
+		if (index == times.length)
+			times = Arrays.copyOf(times, times.length * 2);
+		times[index] = time;
+		return times;
+	}
+
+	/**
+	 * Restarts the sweep from the beginning of the simulation
+	 */
+	public void rewind() {
+		Arrays.fill(arrivalIndex, 0);
+		Arrays.fill(departureIndex, 0);
+		sweepTime = Double.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * Fills the number of devices in each place type at the given time.
+	 * Successive calls must use non-decreasing times, call rewind() to start over
+	 * @param time the sampled time
+	 * @param occupancy the array receiving the count of each place type
+	 */
+	public void advanceTo(double time, int[] occupancy) {
+		if (!sorted) {
+			for (int p = 0; p < numOfPlaces; p++) {
+				Arrays.sort(arrivals[p], 0, arrivalCount[p]);
+				Arrays.sort(departures[p], 0, departureCount[p]);
+			}
+			sorted = true;
+			rewind();
+		}
+
+		if (time < sweepTime)
+			throw new IllegalArgumentException("Occupancy is swept forward only, call rewind() first");
+		sweepTime = time;
+
+		for (int p = 0; p < numOfPlaces; p++) {
+			while (arrivalIndex[p] < arrivalCount[p] && arrivals[p][arrivalIndex[p]] <= time)
+				arrivalIndex[p]++;
+			while (departureIndex[p] < departureCount[p] && departures[p][departureIndex[p]] <= time)
+				departureIndex[p]++;
+			occupancy[p] = arrivalIndex[p] - departureIndex[p];
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package edu.boun.edgecloudsim.utils;
+
+public class RunningStat {
+
+	/**
+	 * Number of samples, running mean and the sum of squared
+	 * differences from the mean (Welford's online algorithm)
+	 */
+	protected long count;
+	protected double mean;
+	protected double m2;
+
+	public RunningStat() {
+
+	}
+
+	/**
+	 * Restores an accumulator, e.g. from a saved snapshot
+	 */
+	public RunningStat(long _count, double _mean, double _m2) {
+		count = _count;
+		mean = _mean;
+		m2 = _m2;
+	}
+
+	public void add(double value) {
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+	}
+
+	/**
+	 * Adds the samples of another accumulator (Chan's parallel update)
+	 */
+	public void add(RunningStat other) {
+		if(other.count == 0) {
+			return;
+		}
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;
+		m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+		count = total;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * Returns the sample standard deviation, zero for less than two samples
+	 */
+	public double getStdev() {
+		if(count < 2) {
+			return 0.0;
+		}
+		return Math.sqrt(m2 / (count - 1));
+	}
+
+	/**
+	 * Returns the sum of squared differences from the mean
+	 */
+	public double getM2() {
+		return m2;
+	}
+
+	public NormDistr toNormDistr() {
+		return new NormDistr(getMean(), getStdev());
+	}
+
+	public void clear() {
+		count = 0;
+		mean = 0;
+		m2 = 0;
+	}
+
+}
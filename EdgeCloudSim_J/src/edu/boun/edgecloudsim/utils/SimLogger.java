@@ -15,38 +15,23 @@
 package edu.boun.edgecloudsim.utils;
 
 import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.stream.DoubleStream;
-import java.util.stream.IntStream;
 
-import org.apache.commons.math3.distribution.NormalDistribution;
 import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
 import org.cloudbus.cloudsim.core.CloudSim;
 
-import com.google.common.collect.ArrayListMultimap;
-
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_client.MobileDeviceManager;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
-import jdk.internal.org.objectweb.asm.tree.analysis.Value;
 
 public class SimLogger {
 	public static enum TASK_STATUS {
@@ -58,21 +43,19 @@ public class SimLogger {
 	private static boolean printLogEnabled;
 	private String filePrefix;
 	private String outputFolder;
-	private Map<Integer, LogItem> taskMap;
-	private LinkedList<VmLoadLogItem> vmLoadList;
-	private ArrayListMultimap<String, Double> completionTimes = ArrayListMultimap.create();
-	
-	private ArrayListMultimap<String, Double> executionTimes = ArrayListMultimap.create();
-	
-	private ArrayListMultimap<String, Double> transferTimes = ArrayListMultimap.create();
-	private HashMap<String, NormDistr> distributions = new HashMap<>();
-	public ETCMatrix matrix;
-	
-	private HashMap<String, NormDistr> ettDistributions = new HashMap<>();
-	
-	public ETTMatrix ettMatrix;
-	public PTCMatrix ptcMatrix;
-	private HashMap<String, NormDistr> ptcDistributions = new HashMap<>();
+	private TaskLogStore taskLog = new TaskLogStore();
+	private TaskSummary summary;
+	private LatencyStatistics latency = new LatencyStatistics();
+	private boolean streamingTaskLog;
+	private AsyncLogWriter.LogFile successLog, failLog;
+	private BinaryLogWriter successLogBin, failLogBin;
+	private UtilizationRecorder vmUtilization;
+	private int[] vmDatacenters; // edge datacenter index of each VM, indexed by VM id
+	private StatisticsCollector statistics = new StatisticsCollector();
+	private Random transferRng = new Random();
+	private volatile ModelSnapshot model;
+	private long modelEpoch;
+	private PTCStore ptcStore;
 	
 	public static double failTaskPercent;
 	public static double toatTasks;
@@ -81,7 +64,6 @@ public class SimLogger {
 	public static double processingTime;
 	public static double netDelay;
 	public static double onlyLanDelay;
-	public static double vMu;
 	
 	private static DecimalFormat df2 = new DecimalFormat("#.##");
 	
@@ -148,6 +130,13 @@ public class SimLogger {
 		this.dlMisCounter = dlMisCounter;
 	}
 	
+	/*
+	 * Counts a task which missed its deadline, shared by every device manager
+	 */
+	public void incrementDlMisCounter() {
+		dlMisCounter++;
+	}
+	
 	
 	
 	double failedTask = 0;
@@ -191,9 +180,16 @@ public class SimLogger {
 		printLogEnabled = false;
 	}
 
-	private void appendToFile(BufferedWriter bw, String line) throws IOException {
-		bw.write(line);
-		bw.newLine();
+	private AsyncLogWriter.LogFile openFile(String fileName) {
+		return AsyncLogWriter.getInstance().open(new File(outputFolder, filePrefix + fileName), true);
+	}
+
+	private void appendToFile(AsyncLogWriter.LogFile file, String line) {
+		AsyncLogWriter.getInstance().write(file, line);
+	}
+
+	private void closeFile(AsyncLogWriter.LogFile file) {
+		AsyncLogWriter.getInstance().close(file);
 	}
 
 	public static void printLine(String msg) {
@@ -206,165 +202,162 @@ public class SimLogger {
 			System.out.print(msg);
 	}
 
-	public void simStarted(String outFolder, String fileName) {
+	public void simStarted(String outFolder, String fileName) throws IOException {
 		filePrefix = fileName;
 		outputFolder = outFolder;
-		taskMap = new HashMap<Integer, LogItem>();
-		vmLoadList = new LinkedList<VmLoadLogItem>();
+		taskLog.clear();
+		summary = new TaskSummary(SimSettings.getInstance().getTaskLookUpTable().length);
+		latency.clear();
+		ptcStore = new PTCStore(SimSettings.getInstance().getNumOfEdgeHosts(),
+				SimSettings.getInstance().getTaskLookUpTable().length,
+				SimSettings.getInstance().getNumOfEdgeHosts());
+		vmUtilization = null;
+		numOfTasks = 0;
+		dlMisCounter = 0;
+
+		// start from the statistics learned by an earlier run
+		String warmStartFile = SimSettings.getInstance().getWarmStartFile();
+		if (!warmStartFile.isEmpty()) {
+			File file = new File(warmStartFile);
+			if (file.exists())
+				statistics.load(file);
+			else
+				printLine("Warm start file " + warmStartFile + " does not exist, starting without learned statistics");
+		}
+
+		// finished tasks are summarized and written as soon as they end
+		streamingTaskLog = SimSettings.getInstance().getStreamingTaskLogEnabled();
+		if (streamingTaskLog)
+			openTaskLogs();
+	}
+	
+	/*
+	 * Opens the SUCCESS/FAIL logs if deep file logging is enabled
+	 */
+	private void openTaskLogs() throws IOException {
+		if (!fileLogEnabled || !SimSettings.getInstance().getDeepFileLoggingEnabled())
+			return;
+
+		if (SimSettings.getInstance().getBinaryFileLoggingEnabled()) {
+			successLogBin = new BinaryLogWriter(new File(outputFolder, filePrefix + "_SUCCESS.bin"), BinaryLogWriter.TASK_RECORD);
+			failLogBin = new BinaryLogWriter(new File(outputFolder, filePrefix + "_FAIL.bin"), BinaryLogWriter.TASK_RECORD);
+		} else {
+			successLog = openFile("_SUCCESS.log");
+			failLog = openFile("_FAIL.log");
+			appendToFile(successLog, "#auto generated file!");
+			appendToFile(failLog, "#auto generated file!");
+		}
+	}
+	
+	private void closeTaskLogs() throws IOException {
+		if (successLog != null) {
+			closeFile(successLog);
+			closeFile(failLog);
+		}
+		if (successLogBin != null) {
+			successLogBin.close();
+			failLogBin.close();
+		}
+		successLog = null;
+		failLog = null;
+		successLogBin = null;
+		failLogBin = null;
 	}
 
 	public void addLog(double taskStartTime, int taskId, int taskType, int taskLenght, int taskInputType,
 			int taskOutputSize, int hostID, int vmId) {
 		//printLine(vmId+"->"+vmId);
-		taskMap.put(taskId, new LogItem(taskStartTime, taskType, taskLenght, taskInputType, taskOutputSize, hostID, vmId));
+		taskLog.add(taskId, taskStartTime, taskType, taskLenght, taskInputType, taskOutputSize, hostID, vmId);
 	}
 
 	public void uploadStarted(int taskId, double taskUploadTime) {
-		taskMap.get(taskId).taskUploadStarted(taskUploadTime);
+		taskLog.taskUploadStarted(taskId, taskUploadTime);
 	}
 
 	public void uploaded(int taskId, int datacenterId, int hostId, int vmId, int vmType,double time) {
-		taskMap.get(taskId).taskUploaded(datacenterId, hostId, vmId, vmType,time);
+		taskLog.taskUploaded(taskId, datacenterId, hostId, vmId, vmType,time);
 	}
 
 	public void downloadStarted(int taskId, double taskDownloadTime) {
-		taskMap.get(taskId).taskDownloadStarted(taskDownloadTime);
+		taskLog.taskDownloadStarted(taskId, taskDownloadTime);
 	}
 
 	public void downloaded(int taskId, double taskEndTime) {
-		taskMap.get(taskId).taskDownloaded(taskEndTime);
+		taskLog.taskDownloaded(taskId, taskEndTime);
+		numOfTasks++;
+		updateStatistics(taskId);
+		taskEnded(taskId);
 	}
 
 	public void rejectedDueToVMCapacity(int taskId, double taskRejectTime, int host) {
 		//System.out.print("..."+ taskRejectTime + "..."+ taskId+ "..."+ host+ "\n");
 		
-		taskMap.get(taskId).taskRejectedDueToVMCapacity(taskRejectTime);
+		taskLog.taskRejectedDueToVMCapacity(taskId, taskRejectTime);
+		taskEnded(taskId);
+	}
+
+	/*
+	 * Rejected task which waits in the ready queue again, the rejection is not
+	 * final so the task stays logged until it ends
+	 */
+	public void postponedDueToVMCapacity(int taskId, double taskRejectTime) {
+		taskLog.taskRejectedDueToVMCapacity(taskId, taskRejectTime);
 	}
 
 	public void rejectedDueToBandwidth(int taskId, double taskRejectTime, int vmType) {
-		taskMap.get(taskId).taskRejectedDueToBandwidth(taskRejectTime, vmType);
+		taskLog.taskRejectedDueToBandwidth(taskId, taskRejectTime, vmType);
+		taskEnded(taskId);
 	}
 
 	public void failedDueToBandwidth(int taskId, double taskRejectTime) {
-		taskMap.get(taskId).taskFailedDueToBandwidth(taskRejectTime);
+		taskLog.taskFailedDueToBandwidth(taskId, taskRejectTime);
+		taskEnded(taskId);
 	}
 
 	public void failedDueToMobility(int taskId, double time) {
-		taskMap.get(taskId).taskFailedDueToMobility(time);
+		taskLog.taskFailedDueToMobility(taskId, time);
+		taskEnded(taskId);
 	}
 
-	public void addVmUtilizationLog(double time, double load) {
-		vmLoadList.add(new VmLoadLogItem(time, load));
+	/**
+	 * Prepares the utilization series once the VMs are created
+	 * @param vmDatacenters the datacenter index of each VM, indexed by VM id
+	 * @param numOfDatacenters the number of datacenters
+	 */
+	public void initVmUtilizationLog(int[] _vmDatacenters, int numOfDatacenters) {
+		vmDatacenters = _vmDatacenters;
+		int downsampling = SimSettings.getInstance().getVmLoadDownsampling();
+		int numOfSamples = (int) Math.ceil(SimSettings.getInstance().getSimulationTime()
+				/ SimSettings.getInstance().getVmLoadLogInterval()) + 1;
+		vmUtilization = new UtilizationRecorder(_vmDatacenters, numOfDatacenters,
+				(numOfSamples + downsampling - 1) / downsampling, downsampling);
+	}
+
+	public void addVmUtilizationLog(double time, double[] vmUtilizations) {
+		vmUtilization.addSample(time, vmUtilizations);
 	}
 	
-	public void initPTC(int edgeNo) throws IOException {
-		
-		int numOfAppTypes = SimSettings.getInstance().getTaskLookUpTable().length;
-		int numOfDataCenters = SimSettings.getInstance().getNumOfEdgeHosts();
-		int numOfVMs = SimSettings.getInstance().getNumOfEdgeVMs();
-		double cpuTime = 0;
-		int taskType=0;
-		int hostNo =0;
-		
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
-			taskType = value.getTaskType();
-			hostNo = value.getHostID();
-			if(value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-			    String key = value.getHostID() + "." +value.getVmId()+"."+ value.getTaskType();
-				
-				cpuTime = value.getEndTime()-value.getProcStartTime();
-
-		    }
-				
-		}
-		
-		FileWriter fw= new FileWriter("/home/c00303945/ResearchWork/Fall2019/EdgePTC/Edge"+edgeNo+"/edgePTC"+edgeNo+".txt", true);
-		PrintWriter printWriter = new PrintWriter(fw);
-		
-		for(int row=1;row<=numOfAppTypes;row++) {
-			
-			for(int col=1;col<=numOfDataCenters;col++) {
-								
-					printWriter.print(0+",");
-				
-			}
-			printWriter.print('\n');
-		}
-		printWriter.close();
-		
+	/*
+	 * Clears the PTC rows of an edge datacenter
+	 */
+	public void initPTC(int edgeNo) {
+		if (edgeNo >= 1 && edgeNo <= ptcStore.getNumOfEdges())
+			ptcStore.reset(edgeNo);
 	}
 	
 	
-	public void distributionCalculation(int hostID, double mu, LogItem val) throws IOException {
-		
-		double[] arrList = new double[26000];
-		
+	/*
+	 * Writes the PTC rows of every edge datacenter, preceded by the edge number
+	 */
+	private void writePTCSnapshot() {
 		int numOfAppTypes = SimSettings.getInstance().getTaskLookUpTable().length;
-		int numOfDataCenters = SimSettings.getInstance().getNumOfEdgeHosts();
-		int numOfVMs = SimSettings.getInstance().getNumOfEdgeVMs();
-		double cpuTime = 0;
-		int taskType = 0;
-		int hostNo =0;
-		
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
-			taskType = value.getTaskType();
-			hostNo = value.getHostID();
-			if(value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-			    String key = value.getHostID() + "." +value.getVmId()+"."+ value.getTaskType();
-				cpuTime = value.getEndTime()-value.getProcStartTime();
-		    }
+		AsyncLogWriter.LogFile ptcLog = openFile("_PTC.log");
+		for (int edge = 1; edge <= ptcStore.getNumOfEdges(); edge++) {
+			appendToFile(ptcLog, "#edge " + edge);
+			for (int taskType = 1; taskType <= numOfAppTypes; taskType++)
+				appendToFile(ptcLog, ptcStore.toString(edge, taskType));
 		}
-				
-        //vMu = vMu+cpuTime;
-        
-        for(int i=1;i<9;i++) {
-				
-				if(i==hostID) {
-					
-					File file = new File("/home/c00303945/ResearchWork/Fall2019/EdgePTC/Edge"+hostID+"/edgePTC"+hostID+".txt");
-					BufferedReader br = new BufferedReader(new FileReader(file));
-					
-					int index = 1;
-			        String line = null;
-			        			        
-			        while ((line=br.readLine())!=null) {
-			            
-			        	if(index == taskType)
-			        	{
-			        		String[] lineArray = line.split(",");
-			        		arrList[index]= Double.parseDouble(lineArray[hostID]);//extracting arrival rate from file
-			        	}
-			        	else {
-			        		index++;
-			        	}
-			         } 
-					
-					
-					FileWriter fileWrt= new FileWriter("/home/c00303945/ResearchWork/Fall2019/EdgePTC/Edge"+hostID+"/edgePTC"+hostID+".txt", true);
-					PrintWriter printWriter = new PrintWriter(fileWrt);
-
-					for(int row=1;row<=numOfAppTypes;row++) {
-						
-						for(int col=1;col<=numOfDataCenters;col++) {
-											
-							if(row==val.getTaskType() && col==hostID) {
-								printWriter.print(vMu+" ");
-								break;
-							}
-						}
-						
-					}
-					printWriter.close();
-				
-					break;
-				}
-				
-				
-			}
-		
-		
+		closeFile(ptcLog);
 	}
 	
 	
@@ -379,245 +372,184 @@ public class SimLogger {
 		
 		
 		
-		createETCDistribution();
-		createEttDistribution();
-		createPTCDistribution();
+		ETCMatrix matrix = new ETCMatrix(numOfDataCenters, numOfAppTypes, numOfTasks);
+		statistics.fillETCMatrix(matrix);
 		
-		double value1 = SimSettings.getInstance().getTaskLookUpTable()[0][5];
+		ETTMatrix ettMatrix = new ETTMatrix(numOfDataCenters,numOfAppTypes);
+		statistics.fillETTMatrix(ettMatrix);
 		
-		matrix = new ETCMatrix(numOfDataCenters, numOfAppTypes, distributions,numOfTasks);
-		
-		ettMatrix = new ETTMatrix(numOfDataCenters,numOfAppTypes, ettDistributions);
-		
-		ptcMatrix = new PTCMatrix(numOfDataCenters, numOfVMs, numOfAppTypes, ptcDistributions);
+		PTCMatrix ptcMatrix = new PTCMatrix(numOfDataCenters, numOfVMs, numOfAppTypes);
+		statistics.fillPTCMatrix(ptcMatrix);
 		
+		// the matrices are not modified after this point
+		model = new ModelSnapshot(++modelEpoch, matrix, ettMatrix, ptcMatrix);
 	}
 	
-	public void setInitialDC(int taskId, int DC) {
-		taskMap.get(taskId).setInitDC(DC);
+	/**
+	 * Returns the ETC/ETT/PTC matrices of the last checkpoint
+	 */
+	public ModelSnapshot getModel() {
+		return model;
 	}
 	
-	private void createETCDistribution() {
-		numOfTasks = 0;
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
-			if(value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-				    numOfTasks++;
-					String key = value.getHostID() + "." + value.getTaskType();
-					
-					//double processingTime = value.getServiceTime()- value.getNetworkDelay();
-					double processingTime = value.getServiceTime();
-					completionTimes.put(key, processingTime);
-			}
-
-			
-			Map <String, Collection<Double>> newMap = completionTimes.asMap();
-			for(String taskTbaseST : newMap.keySet())	{
-				
-				List<Double> times = completionTimes.get(taskTbaseST);
-				double sum = 0;
-				double sqsum = 0;
-				for(Double time: times) {
-					sum += time;
-				}
-				double mu = sum/times.size();
-				if (mu == sum) {
-					 double sigma = 0.0;
-					 NormDistr distr = new NormDistr(mu, sigma);
-						distributions.put(taskTbaseST, distr);
-				}
-				
-				else {
-					for(Double time: times) {
-						sqsum += Math.pow(time-mu, 2);
-					}
-					
-					double sigma = Math.sqrt(sqsum/(times.size()-1));
-					NormDistr distr = new NormDistr(mu, sigma);
-					distributions.put(taskTbaseST, distr);
-					}
-				}
-			}
-		
+	/**
+	 * Returns the latency histograms of the completed tasks of the current run
+	 */
+	public LatencyStatistics getLatencyStatistics() {
+		return latency;
 	}
 	
-	private void createPTCDistribution() {
-		
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
-			
-			//System.out.println(" Task Type "+ value.getTaskType() + " host id "+ value.getHostID());
-					
-			if(value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-				    String key = value.getHostID() + "." +value.getVmId()+"."+ value.getTaskType();
-					
-					double cpuTime = value.getEndTime()-value.getProcStartTime();
-					executionTimes.put(key, cpuTime);
-			}
-			
-			
-			Map <String, Collection<Double>> newMap = executionTimes.asMap();
-			for(String taskTbaseST : newMap.keySet())	{
-				
-				List<Double> times = executionTimes.get(taskTbaseST);
-				double sum = 0;
-				double sqsum = 0;
-				for(Double time: times) {
-					sum += time;
-				}
-				double mu = sum/times.size();
-				
-				if (mu == sum) {
-					 double sigma = 0.0;
-					 NormDistr distr = new NormDistr(mu, sigma);
-					 
-					 ptcDistributions.put(taskTbaseST, distr);
-				}
-				else {
-					for(Double time: times) {
-						sqsum += Math.pow(time-mu, 2);
-					}
-					
-					double sigma = Math.sqrt(sqsum/(times.size()-1));
-					NormDistr distr = new NormDistr(mu, sigma);
-					ptcDistributions.put(taskTbaseST, distr);
-					}
-				}
-			
-		
-			}
+	public void setInitialDC(int taskId, int DC) {
+		taskLog.setInitDC(taskId, DC);
 	}
 	
+	/*
+	 * Folds a completed task into the running ETC/PTC/ETT statistics
+	 */
+	private void updateStatistics(int taskId) {
+		int taskType = taskLog.getTaskType(taskId);
+		double serviceTime = taskLog.getServiceTime(taskId);
+		double cpuTime = taskLog.getEndTime(taskId) - taskLog.getProcStartTime(taskId);
 		
-	private void createEttDistribution() {
-		NormalDistribution[][] nrmlRngList = new NormalDistribution[SimSettings.APP_TYPES.values().length][1];
+		double mbitMean = (SimSettings.getInstance().getTaskLookUpTable()[taskType][5]*8);
+		double nwtrtime = Math.abs(transferRng.nextGaussian()*(10+mbitMean)/transferRng.nextGaussian()*(14.86+88.27));
 		
-		// getting upload data size from normal distribution
-		for(int i=0; i<SimSettings.APP_TYPES.values().length; i++) {
-			nrmlRngList[i][0] = new NormalDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][5],10);
+		statistics.taskCompleted(taskLog.getHostID(taskId), taskLog.getVmId(taskId), taskType, taskLog.getInitialDC(taskId),
+				serviceTime, cpuTime, nwtrtime);
+	}
+	
+	/*
+	 * Summarizes and evicts a task which reached a final state if streaming is enabled
+	 */
+	private void taskEnded(int taskId) {
+		if (!streamingTaskLog || !taskLog.contains(taskId))
+			return;
+
+		try {
+			summarizeTask(taskId);
+		} catch (IOException e) {
+			e.printStackTrace();
 		}
-		
-		
-		
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
-			Random r = new Random();
-			
-			
-			if(value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-					//String key = value.getHostID() + "." + value.getTaskType();
-					String key = value.getInitialDC() + "." + value.getHostID();
-					
-					//double trasnferTime = value.getNetworkDelay();
-					double transferTime = value.getProcStartTime() - value.getSubmissionTime() + value.getTransferTime();
-					
-					double mbitMean = (SimSettings.getInstance().getTaskLookUpTable()[value.getTaskType()][5]*8);
-					
-					double nwtrtime = Math.abs(r.nextGaussian()*(10+mbitMean)/r.nextGaussian()*(14.86+88.27));
-					
-					//System.out.println(" Task size in Mbits "+Math.abs(mbitMean));
-					
-					//System.out.println(" Max Channel capacity "+Math.abs(r.nextGaussian()*(14.86+88.27)));
-					//System.out.println(" transfer time of task type "+value.getTaskType()+" is "+(nwtrtime/10000));
-					
-					transferTimes.put(key, nwtrtime);
-				}
-			Map <String, Collection<Double>> newMap = transferTimes.asMap();
-			for(String taskTbaseST : newMap.keySet())	{
-				
-				List<Double> times = transferTimes.get(taskTbaseST);
-				double sum = 0;
-				double sqsum = 0;
-				for(Double time: times) {
-					sum += time;
-				}
-				double mu = sum/times.size();
-				if (mu == sum) {
-					 double sigma = 0.0;
-					 NormDistr distr = new NormDistr(mu, sigma);
-					 ettDistributions.put(taskTbaseST, distr);
-				}
-				
-				else {
-					for(Double time: times) {
-						sqsum += Math.pow(time-mu, 2);
-					}
-					
-					double sigma = Math.sqrt(sqsum/(times.size()-1));
-					NormDistr distr = new NormDistr(mu, sigma);
-					ettDistributions.put(taskTbaseST, distr);
-					}
-				}
-			}
-		
+		taskLog.remove(taskId);
+	}
+	
+	/*
+	 * Folds a task into the summary and writes it to the SUCCESS/FAIL log if they are open
+	 */
+	private void summarizeTask(int taskId) throws IOException {
+		if (taskLog.isInWarmUpPeriod(taskId))
+			return;
+
+		SimLogger.TASK_STATUS status = taskLog.getStatus(taskId);
+		boolean onCloud = taskLog.getVmType(taskId) == SimSettings.VM_TYPES.CLOUD_VM.ordinal();
+
+		summary.addTask(status, taskLog.getTaskType(taskId), onCloud,
+				taskLog.getServiceTime(taskId), taskLog.getNetworkDelay(taskId), taskLog.getCost(taskId));
+
+		if (status == SimLogger.TASK_STATUS.COMLETED) {
+			double serviceTime = taskLog.getServiceTime(taskId);
+			double networkDelay = taskLog.getNetworkDelay(taskId);
+			latency.taskCompleted(taskLog.getTaskType(taskId), getDatacenterIndex(taskId, onCloud),
+					serviceTime, serviceTime - networkDelay, networkDelay);
+		}
+
+		if (status == SimLogger.TASK_STATUS.COMLETED) {
+			writeTaskLog(successLog, successLogBin, taskId);
+		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY) {
+			if (onCloud)
+				writeTaskLog(failLog, failLogBin, taskId);
+		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH
+				|| status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH
+				|| status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY) {
+			writeTaskLog(failLog, failLogBin, taskId);
+		}
+	}
+	
+	/*
+	 * Edge datacenter index which executed a task, the logged datacenter id is
+	 * the CloudSim entity id; cloud tasks are keyed by CLOUD_DATACENTER_ID
+	 */
+	private int getDatacenterIndex(int taskId, boolean onCloud) {
+		int vmId = taskLog.getVmId(taskId);
+		if (onCloud || vmDatacenters == null || vmId < 0 || vmId >= vmDatacenters.length)
+			return SimSettings.CLOUD_DATACENTER_ID;
+		return vmDatacenters[vmId];
+	}
+	
+	private void writeTaskLog(AsyncLogWriter.LogFile file, BinaryLogWriter bin, int taskId) throws IOException {
+		if (file != null)
+			appendToFile(file, taskLog.toString(taskId));
+		else if (bin != null)
+			bin.writeTask(taskLog, taskId);
 	}
 	
 	
 	public void simStopped() throws IOException {
 		int numOfAppTypes = SimSettings.getInstance().getTaskLookUpTable().length;
 
-		File successFile = null, failFile = null, vmLoadFile = null, locationFile = null;
-		FileWriter successFW = null, failFW = null, vmLoadFW = null, locationFW = null;
-		BufferedWriter successBW = null, failBW = null, vmLoadBW = null, locationBW = null;
+		AsyncLogWriter.LogFile vmLoadLog = null, locationLog = null;
+		BinaryLogWriter vmLoadBin = null;
+		boolean binaryFileLog = SimSettings.getInstance().getBinaryFileLoggingEnabled();
 
 		// Save generic results to file for each app type. last index is average
 		// of all app types
-		File[] genericFiles = new File[numOfAppTypes + 1];
-		FileWriter[] genericFWs = new FileWriter[numOfAppTypes + 1];
-		BufferedWriter[] genericBWs = new BufferedWriter[numOfAppTypes + 1];
+		AsyncLogWriter.LogFile[] genericLogs = new AsyncLogWriter.LogFile[numOfAppTypes + 1];
+
+		// summarize the tasks which are still logged, the finished ones are
+		// already in the summary if streaming is enabled
+		if (!streamingTaskLog)
+			openTaskLogs();
+
+		for (int key = taskLog.firstId(); key < taskLog.size(); key++) {
+			if (taskLog.contains(key))
+				summarizeTask(key);
+		}
+		summary.calculateTotals();
+		closeTaskLogs();
 
 		// extract following values for each app type. last index is average of
 		// all app types
-		int[] uncompletedTask = new int[numOfAppTypes + 1];
-		int[] uncompletedTaskOnCloud = new int[numOfAppTypes + 1];
-		int[] uncompletedTaskOnCloudlet = new int[numOfAppTypes + 1];
+		int[] uncompletedTask = summary.uncompletedTask;
+		int[] uncompletedTaskOnCloud = summary.uncompletedTaskOnCloud;
+		int[] uncompletedTaskOnCloudlet = summary.uncompletedTaskOnCloudlet;
 
-		int[] completedTask = new int[numOfAppTypes + 1];
-		int[] completedTaskOnCloud = new int[numOfAppTypes + 1];
-		int[] completedTaskOnCloudlet = new int[numOfAppTypes + 1];
+		int[] completedTask = summary.completedTask;
+		int[] completedTaskOnCloud = summary.completedTaskOnCloud;
+		int[] completedTaskOnCloudlet = summary.completedTaskOnCloudlet;
 
-		int[] failedTask = new int[numOfAppTypes + 1];
-		int[] failedTaskOnCloud = new int[numOfAppTypes + 1];
-		int[] failedTaskOnCloudlet = new int[numOfAppTypes + 1];
+		int[] failedTask = summary.failedTask;
+		int[] failedTaskOnCloud = summary.failedTaskOnCloud;
+		int[] failedTaskOnCloudlet = summary.failedTaskOnCloudlet;
 
-		double[] networkDelay = new double[numOfAppTypes + 1];
-		double[] wanDelay = new double[numOfAppTypes + 1];
-		double[] lanDelay = new double[numOfAppTypes + 1];
+		double[] networkDelay = summary.networkDelay;
+		double[] wanDelay = summary.wanDelay;
+		double[] lanDelay = summary.lanDelay;
 
-		double[] serviceTime = new double[numOfAppTypes + 1];
-		double[] serviceTimeOnCloud = new double[numOfAppTypes + 1];
-		double[] serviceTimeOnCloudlet = new double[numOfAppTypes + 1];
+		double[] serviceTime = summary.serviceTime;
+		double[] serviceTimeOnCloud = summary.serviceTimeOnCloud;
+		double[] serviceTimeOnCloudlet = summary.serviceTimeOnCloudlet;
 
-		double[] processingTime = new double[numOfAppTypes + 1];
-		double[] processingTimeOnCloud = new double[numOfAppTypes + 1];
-		double[] processingTimeOnCloudlet = new double[numOfAppTypes + 1];
+		double[] processingTime = summary.processingTime;
+		double[] processingTimeOnCloud = summary.processingTimeOnCloud;
+		double[] processingTimeOnCloudlet = summary.processingTimeOnCloudlet;
 
-		double[] cost = new double[numOfAppTypes + 1];
-		int[] failedTaskDuetoBw = new int[numOfAppTypes + 1];
-		int[] failedTaskDuetoLanBw = new int[numOfAppTypes + 1];
-		int[] failedTaskDuetoWanBw = new int[numOfAppTypes + 1];
-		int[] failedTaskDuetoMobility = new int[numOfAppTypes + 1];
-		int[] rejectedTaskDoToVmCapacity = new int[numOfAppTypes + 1];
+		double[] cost = summary.cost;
+		int[] failedTaskDuetoBw = summary.failedTaskDuetoBw;
+		int[] failedTaskDuetoLanBw = summary.failedTaskDuetoLanBw;
+		int[] failedTaskDuetoWanBw = summary.failedTaskDuetoWanBw;
+		int[] failedTaskDuetoMobility = summary.failedTaskDuetoMobility;
+		int[] rejectedTaskDoToVmCapacity = summary.rejectedTaskDoToVmCapacity;
 
 		// open all files and prepare them for write
 		if (fileLogEnabled) {
-			if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
-				successFile = new File(outputFolder, filePrefix + "_SUCCESS.log");
-				successFW = new FileWriter(successFile, true);
-				successBW = new BufferedWriter(successFW);
-
-				failFile = new File(outputFolder, filePrefix + "_FAIL.log");
-				failFW = new FileWriter(failFile, true);
-				failBW = new BufferedWriter(failFW);
+			if (binaryFileLog) {
+				vmLoadBin = new BinaryLogWriter(new File(outputFolder, filePrefix + "_VM_LOAD.bin"), BinaryLogWriter.VM_LOAD_RECORD,
+						vmUtilization == null ? BinaryLogWriter.VM_LOAD_RECORD_SIZE : BinaryLogWriter.getVmLoadRecordSize(vmUtilization));
+			} else {
+				vmLoadLog = openFile("_VM_LOAD.log");
 			}
 
-			vmLoadFile = new File(outputFolder, filePrefix + "_VM_LOAD.log");
-			vmLoadFW = new FileWriter(vmLoadFile, true);
-			vmLoadBW = new BufferedWriter(vmLoadFW);
-
-			locationFile = new File(outputFolder, filePrefix + "_LOCATION.log");
-			locationFW = new FileWriter(locationFile, true);
-			locationBW = new BufferedWriter(locationFW);
+			locationLog = openFile("_LOCATION.log");
 
 			for (int i = 0; i < numOfAppTypes + 1; i++) {
 				String fileName = "ALL_APPS_GENERIC.log";
@@ -631,152 +563,36 @@ public class SimLogger {
 					fileName = SimSettings.APP_TYPES.values()[i] + "_GENERIC.log";
 				}
 
-				genericFiles[i] = new File(outputFolder, filePrefix + "_" + fileName);
-				genericFWs[i] = new FileWriter(genericFiles[i], true);
-				genericBWs[i] = new BufferedWriter(genericFWs[i]);
-				appendToFile(genericBWs[i], "#auto generated file!");
+				genericLogs[i] = openFile("_" + fileName);
+				appendToFile(genericLogs[i], "#auto generated file!");
 			}
 
-			if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
-				appendToFile(successBW, "#auto generated file!");
-				appendToFile(failBW, "#auto generated file!");
-			}
-
-			appendToFile(vmLoadBW, "#auto generated file!");
-			appendToFile(locationBW, "#auto generated file!");
+			if (vmLoadLog != null)
+				appendToFile(vmLoadLog, "#auto generated file!");
+			appendToFile(locationLog, "#auto generated file!");
 		}
 
-		// extract the result of each task and write it to the file if required
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			Integer key = entry.getKey();
-			LogItem value = entry.getValue();
-			
-
-			if (value.isInWarmUpPeriod())
-				continue;
-
-			if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-				completedTask[value.getTaskType()]++;
-
-				if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-					completedTaskOnCloud[value.getTaskType()]++;
-				else
-					completedTaskOnCloudlet[value.getTaskType()]++;
-			} else {
-				failedTask[value.getTaskType()]++;
-
-				//SimLogger.printLine(" Task type "+value.getTaskType()+" failed on host : "+value.getHostID());
-				
-				if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-					failedTaskOnCloud[value.getTaskType()]++;
-				else
-					failedTaskOnCloudlet[value.getTaskType()]++;
-			}
-
-			if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-				cost[value.getTaskType()] += value.getCost();
-				serviceTime[value.getTaskType()] += value.getServiceTime();
-				networkDelay[value.getTaskType()] += value.getNetworkDelay();
-				processingTime[value.getTaskType()] += (value.getServiceTime() - value.getNetworkDelay());
-				
-				//double exTime = value.getEndTime() - value.getProcStartTime();
-				//System.out.println(" Execution time of task in VM "+ value.getVmId() + " is "+ exTime+" host "+ value.getHostID());
-
-				if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal()) {
-					wanDelay[value.getTaskType()] += value.getNetworkDelay();
-					serviceTimeOnCloud[value.getTaskType()] += value.getServiceTime();
-					processingTimeOnCloud[value.getTaskType()] += (value.getServiceTime() - value.getNetworkDelay());
-				} else {
-					lanDelay[value.getTaskType()] += value.getNetworkDelay();
-					serviceTimeOnCloudlet[value.getTaskType()] += value.getServiceTime();
-					processingTimeOnCloudlet[value.getTaskType()] += (value.getServiceTime() - value.getNetworkDelay());
-				}
-
-				if (fileLogEnabled && SimSettings.getInstance().getDeepFileLoggingEnabled())
-					appendToFile(successBW, value.toString(key));
-			} else if (value.getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY) {
-				rejectedTaskDoToVmCapacity[value.getTaskType()]++;
-				if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-					if (fileLogEnabled && SimSettings.getInstance().getDeepFileLoggingEnabled())
-						appendToFile(failBW, value.toString(key));
-			} else if (value.getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH
-					|| value.getStatus() == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH) {
-				failedTaskDuetoBw[value.getTaskType()]++;
-				if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-					failedTaskDuetoWanBw[value.getTaskType()]++;
-				else
-					failedTaskDuetoLanBw[value.getTaskType()]++;
-
-				if (fileLogEnabled && SimSettings.getInstance().getDeepFileLoggingEnabled())
-					appendToFile(failBW, value.toString(key));
-			} else if (value.getStatus() == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY) {
-				failedTaskDuetoMobility[value.getTaskType()]++;
-				if (fileLogEnabled && SimSettings.getInstance().getDeepFileLoggingEnabled())
-					appendToFile(failBW, value.toString(key));
-			} else {
-				uncompletedTask[value.getTaskType()]++;
-				if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-					uncompletedTaskOnCloud[value.getTaskType()]++;
-				else {
-					uncompletedTaskOnCloudlet[value.getTaskType()]++;
-					String vmName="cloud";
-					
-					if(value.getVmType() != SimSettings.VM_TYPES.CLOUD_VM.ordinal()) {
-						
-						vmName = "Edge";
-						value.getHostID();
-						
-					}
-					
-					//SimLogger.printLine("Uncomplted task of task type  :"+value.getTaskType()+" in host "+value.getHostID()+" vm type :"+vmName);
-				
-				}
-			
+		// calculate server load, each VM_LOAD line holds the time, the average
+		// load, the load of each datacenter and the load of each VM
+		double averageVmLoad = 0.0;
+		if (vmUtilization != null) {
+			vmUtilization.finish();
+			averageVmLoad = vmUtilization.getAverageLoad();
+			for (int i = 0; i < vmUtilization.size(); i++) {
+				if (vmLoadBin != null)
+					vmLoadBin.writeVmLoad(vmUtilization, i);
+				else if (fileLogEnabled)
+					appendToFile(vmLoadLog, vmUtilization.toString(i));
 			}
 		}
 
-		// calculate total values
-		uncompletedTask[numOfAppTypes] = IntStream.of(uncompletedTask).sum();
-		uncompletedTaskOnCloud[numOfAppTypes] = IntStream.of(uncompletedTaskOnCloud).sum();
-		uncompletedTaskOnCloudlet[numOfAppTypes] = IntStream.of(uncompletedTaskOnCloudlet).sum();
-
-		completedTask[numOfAppTypes] = IntStream.of(completedTask).sum();
-		completedTaskOnCloud[numOfAppTypes] = IntStream.of(completedTaskOnCloud).sum();
-		completedTaskOnCloudlet[numOfAppTypes] = IntStream.of(completedTaskOnCloudlet).sum();
-
-		failedTask[numOfAppTypes] = IntStream.of(failedTask).sum();
-		failedTaskOnCloud[numOfAppTypes] = IntStream.of(failedTaskOnCloud).sum();
-		failedTaskOnCloudlet[numOfAppTypes] = IntStream.of(failedTaskOnCloudlet).sum();
-
-		networkDelay[numOfAppTypes] = DoubleStream.of(networkDelay).sum();
-		lanDelay[numOfAppTypes] = DoubleStream.of(lanDelay).sum();
-		wanDelay[numOfAppTypes] = DoubleStream.of(wanDelay).sum();
-
-		serviceTime[numOfAppTypes] = DoubleStream.of(serviceTime).sum();
-		serviceTimeOnCloud[numOfAppTypes] = DoubleStream.of(serviceTimeOnCloud).sum();
-		serviceTimeOnCloudlet[numOfAppTypes] = DoubleStream.of(serviceTimeOnCloudlet).sum();
-
-		processingTime[numOfAppTypes] = DoubleStream.of(processingTime).sum();
-		processingTimeOnCloud[numOfAppTypes] = DoubleStream.of(processingTimeOnCloud).sum();
-		processingTimeOnCloudlet[numOfAppTypes] = DoubleStream.of(processingTimeOnCloudlet).sum();
-
-		cost[numOfAppTypes] = DoubleStream.of(cost).sum();
-		failedTaskDuetoBw[numOfAppTypes] = IntStream.of(failedTaskDuetoBw).sum();
-		failedTaskDuetoWanBw[numOfAppTypes] = IntStream.of(failedTaskDuetoWanBw).sum();
-		failedTaskDuetoLanBw[numOfAppTypes] = IntStream.of(failedTaskDuetoLanBw).sum();
-		failedTaskDuetoMobility[numOfAppTypes] = IntStream.of(failedTaskDuetoMobility).sum();
-		rejectedTaskDoToVmCapacity[numOfAppTypes] = IntStream.of(rejectedTaskDoToVmCapacity).sum();
-
-		// calculate server load
-		double totalVmLoad = 0;
-		for (VmLoadLogItem entry : vmLoadList) {
-			totalVmLoad += entry.getLoad();
-			if (fileLogEnabled)
-				appendToFile(vmLoadBW, entry.toString());
-		}
-
 		if (fileLogEnabled) {
-			// write location info to file
+			// write location info to file, the occupancy is swept forward
+			// from the moves of the devices if the mobility model reports them
+			PlaceOccupancy occupancy = SimManager.getInstance().getMobilityModel().getPlaceOccupancy();
+			if (occupancy != null)
+				occupancy.rewind();
+
 			for (int t = 1; t < (SimSettings.getInstance().getSimulationTime()
 					/ SimSettings.getInstance().getVmLocationLogInterval()); t++) {
 				int[] locationInfo = new int[SimSettings.PLACE_TYPES.values().length];
@@ -785,18 +601,22 @@ public class SimLogger {
 				if (time < SimSettings.getInstance().getWarmUpPeriod())
 					continue;
 
-				for (int i = 0; i < SimManager.getInstance().getNumOfMobileDevice(); i++) {
+				if (occupancy != null) {
+					occupancy.advanceTo(time, locationInfo);
+				} else {
+					for (int i = 0; i < SimManager.getInstance().getNumOfMobileDevice(); i++) {
 
-					Location loc = SimManager.getInstance().getMobilityModel().getLocation(i, time);
-					SimSettings.PLACE_TYPES placeType = loc.getPlaceType();
-					locationInfo[placeType.ordinal()]++;
+						Location loc = SimManager.getInstance().getMobilityModel().getLocation(i, time);
+						SimSettings.PLACE_TYPES placeType = loc.getPlaceType();
+						locationInfo[placeType.ordinal()]++;
+					}
 				}
 
-				locationBW.write(time.toString());
+				StringBuilder locationLine = new StringBuilder(time.toString());
 				for (int i = 0; i < locationInfo.length; i++)
-					locationBW.write(SimSettings.DELIMITER + locationInfo[i]);
+					locationLine.append(SimSettings.DELIMITER).append(locationInfo[i]);
 
-				locationBW.newLine();
+				appendToFile(locationLog, locationLine.toString());
 			}
 
 			for (int i = 0; i < numOfAppTypes + 1; i++) {
@@ -813,7 +633,7 @@ public class SimLogger {
 				double _serviceTime = (completedTask[i] == 0) ? 0.0 : (serviceTime[i] / (double) completedTask[i]);
 				double _networkDelay = (completedTask[i] == 0) ? 0.0 : (networkDelay[i] / (double) completedTask[i]);
 				double _processingTime = (completedTask[i] == 0) ? 0.0 : (processingTime[i] / (double) completedTask[i]);
-				double _vmLoad = (vmLoadList.size() == 0) ? 0.0 : (totalVmLoad / (double) vmLoadList.size());
+				double _vmLoad = averageVmLoad;
 				double _cost = (completedTask[i] == 0) ? 0.0 : (cost[i] / (double) completedTask[i]);
 
 				// write generic results
@@ -861,18 +681,17 @@ public class SimLogger {
 						+ Double.toString(_processingTimeOnCloud) + SimSettings.DELIMITER 
 						+ Double.toString(_wanDelay);
 
-				appendToFile(genericBWs[i], genericResult1);
-				appendToFile(genericBWs[i], genericResult2);
-				appendToFile(genericBWs[i], genericResult3);
+				appendToFile(genericLogs[i], genericResult1);
+				appendToFile(genericLogs[i], genericResult2);
+				appendToFile(genericLogs[i], genericResult3);
 			}
 
 			// close open files
-			if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
-				successBW.close();
-				failBW.close();
-			}
-			vmLoadBW.close();
-			locationBW.close();
+			if (vmLoadBin != null)
+				vmLoadBin.close();
+			else
+				closeFile(vmLoadLog);
+			closeFile(locationLog);
 			for (int i = 0; i < numOfAppTypes + 1; i++) {
 				if (i < numOfAppTypes) {
 					// if related app is not used in this simulation, just
@@ -880,7 +699,7 @@ public class SimLogger {
 					if (SimSettings.getInstance().getTaskLookUpTable()[i][0] == 0)
 						continue;
 				}
-				genericBWs[i].close();
+				closeFile(genericLogs[i]);
 			}
 		}
 
@@ -888,6 +707,14 @@ public class SimLogger {
 		//PrintWriter printWriter = new PrintWriter(fw);
 		
 		
+		// learned statistics, can be loaded by a later run through warm_start_file
+		if (fileLogEnabled)
+			statistics.save(new File(outputFolder, filePrefix + "_STATISTICS.bin"));
+
+		// the PTC rows are only kept in memory during the run
+		if (fileLogEnabled && SimSettings.getInstance().getPtcSnapshotEnabled())
+			writePTCSnapshot();
+
 		// printout important results
 		printLine("# of tasks (Cloudlet/Cloud): "
 				+ (failedTask[numOfAppTypes] + completedTask[numOfAppTypes]) + "("
@@ -981,9 +808,12 @@ public class SimLogger {
 				+ String.format("%.6f", wanDelay[numOfAppTypes] / (double) completedTaskOnCloud[numOfAppTypes]) + ")");
 
 		printLine("average server utilization: " 
-				+ String.format("%.6f", totalVmLoad / (double) vmLoadList.size()) + "%");
+				+ String.format("%.6f", averageVmLoad) + "%");
 		
 		printLine("average cost: " + cost[numOfAppTypes] / completedTask[numOfAppTypes] + "$");
+
+		for (String line : latency.getSummary())
+			printLine(line);
 		
 		
 		double netDly = networkDelay[numOfAppTypes]/(double) completedTask[numOfAppTypes];
@@ -998,221 +828,12 @@ public class SimLogger {
 		
 		//printWriter.close();
 
-		// clear related collections (map list etc.)
-		taskMap.clear();
-		vmLoadList.clear();
-	}
-}
-
-class VmLoadLogItem {
-	private double time;
-	private double vmLoad;
+		// wait until the writer thread has written every log of this run
+		AsyncLogWriter.getInstance().flush();
 
-	VmLoadLogItem(double _time, double _vmLoad) {
-		time = _time;
-		vmLoad = _vmLoad;
-	}
-
-	public double getLoad() {
-		return vmLoad;
-	}
-
-	public String toString() {
-		return time + SimSettings.DELIMITER + vmLoad;
+		// clear related collections (map list etc.)
+		taskLog.clear();
+		vmUtilization = null;
+		vmDatacenters = null;
 	}
 }
-
-class LogItem {
-	  SimLogger.TASK_STATUS status;
-	private int initialDC;
-	private int datacenterId;
-	private int execDC;
-	private int hostId;
-	private int vmId;
-	private int vmType;
-	private int taskType;
-	private int taskLenght;
-	private int taskInputType;
-	private int taskOutputSize;
-	private double taskStartTime;
-	private double taskSubmissionTime;
-	private double processingStartTime;
-	private double taskTransferTime;
-	private double taskEndTime;
-	private double taskDownloadTime;
-	private double taskUploadTime;
-	private double networkDelay;
-	private double bwCost;
-	private double cpuCost;
-	private boolean isInWarmUpPeriod;
-
-	LogItem(double _taskStartTime, int _taskType, int _taskLenght, int _taskInputType, int _taskOutputSize, int _taskHost, int _vmId) {
-		taskStartTime = _taskStartTime;
-		taskType = _taskType;
-		taskLenght = _taskLenght;
-		taskInputType = _taskInputType;
-		taskOutputSize = _taskOutputSize;
-		hostId = _taskHost;
-		status = SimLogger.TASK_STATUS.CREATED;
-		taskEndTime = 0;
-		vmId = _vmId;
-
-		if (_taskStartTime < SimSettings.getInstance().getWarmUpPeriod())
-			isInWarmUpPeriod = true;
-		else
-			isInWarmUpPeriod = false;
-	}
-	
-	
-	public int getInitialDC() {
-		return initialDC;
-	}
-
-	public void setInitDC(int initialDC) {
-		this.initialDC = initialDC;
-	}
-
-	public int getExecDC() {
-		return execDC;
-	}
-
-	public void setExecDC(int execDC) {
-		this.execDC = execDC;
-	}
-
-	public double getSubmissionTime() {
-		return taskSubmissionTime;
-	}
-	
-	public double getProcStartTime() {
-		return processingStartTime;
-	}
-	
-	public double getDownloadTime() {
-		return taskDownloadTime;
-	}
-	public double getUploadTime() {
-		return taskUploadTime;
-	}
-	public double getTransferTime() {
-		return taskTransferTime;
-	}
-	
-	public double getEndTime() {
-		return taskEndTime;
-	}
-	
-	public void taskUploadStarted(double taskUploadTime) {
-		networkDelay += taskUploadTime;
-		status = SimLogger.TASK_STATUS.UPLOADING;
-	}
-
-	public void taskUploaded(int _datacenterId, int _hostId, int _vmId, int _vmType, double time) {
-		status = SimLogger.TASK_STATUS.PROCESSING;
-		datacenterId = _datacenterId;
-		hostId = _hostId;
-		vmId = _vmId;
-		vmType = _vmType;
-		processingStartTime = time;
-	}
-
-	public void taskDownloadStarted(double taskDownloadTime) {
-		networkDelay += taskDownloadTime;
-		status = SimLogger.TASK_STATUS.DOWNLOADING;
-	}
-
-	public void taskDownloaded(double _taskEndTime) {
-		taskEndTime = _taskEndTime;
-		status = SimLogger.TASK_STATUS.COMLETED;
-	}
-
-	public void taskRejectedDueToVMCapacity(double _taskRejectTime) {
-		taskEndTime = _taskRejectTime;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY;
-	}
-
-	public void taskRejectedDueToBandwidth(double _taskRejectTime, int _vmType) {
-		vmType = _vmType;
-		taskEndTime = _taskRejectTime;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH;
-	}
-
-	public void taskFailedDueToBandwidth(double _time) {
-		taskEndTime = _time;
-		status = SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH;
-	}
-
-	public void taskFailedDueToMobility(double _time) {
-		taskEndTime = _time;
-		status = SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY;
-	}
-
-	public void setCost(double _bwCost, double _cpuCos) {
-		bwCost = _bwCost;
-		cpuCost = _cpuCos;
-	}
-
-	public boolean isInWarmUpPeriod() {
-		return isInWarmUpPeriod;
-	}
-
-	public double getCost() {
-		return bwCost + cpuCost;
-	}
-	
-	public int getHostID () {
-		return hostId;
-	}
-
-	public double getNetworkDelay() {
-		return networkDelay;
-	}
-
-	public double getServiceTime() {
-		return taskEndTime - taskStartTime;
-	}
-
-	public SimLogger.TASK_STATUS getStatus() {
-		return status;
-	}
-
-	public int getVmType() {
-		return vmType;
-	}
-
-	
-	public int getVmId() {
-		return vmId;
-	}
-
-
-	public void setVmId(int vmId) {
-		this.vmId = vmId;
-	}
-	
-	public int getTaskType() {
-		return taskType;
-	}
-
-	public String toString(int taskId) {
-		String result = taskId + SimSettings.DELIMITER + datacenterId + SimSettings.DELIMITER + hostId
-				+ SimSettings.DELIMITER + vmId + SimSettings.DELIMITER + vmType + SimSettings.DELIMITER + taskType
-				+ SimSettings.DELIMITER + taskLenght + SimSettings.DELIMITER + taskInputType + SimSettings.DELIMITER
-				+ taskOutputSize + SimSettings.DELIMITER + taskStartTime + SimSettings.DELIMITER + taskEndTime
-				+ SimSettings.DELIMITER;
-
-		if (status == SimLogger.TASK_STATUS.COMLETED)
-			result += networkDelay;
-		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY)
-			result += "1"; // failure reason 1
-		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH)
-			result += "2"; // failure reason 2
-		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH)
-			result += "3"; // failure reason 3
-		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY)
-			result += "4"; // failure reason 4
-		else
-			result += "0"; // default failure reason
-		return result;
-	}
-}
\ No newline at end of file
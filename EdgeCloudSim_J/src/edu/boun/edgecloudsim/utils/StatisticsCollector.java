@@ -0,0 +1,195 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+public class StatisticsCollector {
+	/**
+	 *  Running accumulators updated once per completed task.
+	 *  Keys pack up to three ids of 21 bits each into a long:
+	 *  ETC (host, taskType), PTC (host, vm, taskType), ETT (srcDC, dstHost)
+	 */
+	protected HashMap<Long, RunningStat> completionStats = new HashMap<>();
+	protected HashMap<Long, RunningStat> executionStats = new HashMap<>();
+	protected HashMap<Long, RunningStat> transferStats = new HashMap<>();
+
+	/**
+	 * Snapshot format: magic number and version followed by the ETC, PTC
+	 * and ETT tables, each as an entry count and (key, count, mean, m2) entries
+	 */
+	public static final int SNAPSHOT_MAGIC = 0x4543534D; // "ECSM"
+	public static final int SNAPSHOT_VERSION = 2;
+
+	private static final int KEY_BITS = 21;
+	private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+
+	public StatisticsCollector() {
+
+	}
+
+	/**
+	 * Folds a completed task into the ETC, PTC and ETT accumulators
+	 * @param hostId the host which executed the task
+	 * @param vmId the vm which executed the task
+	 * @param taskType the task type
+	 * @param initialDC the datacenter which received the task
+	 * @param serviceTime the completion time of the task
+	 * @param cpuTime the execution time of the task on the vm
+	 * @param transferTime the transfer time sample of the task
+	 */
+	public void taskCompleted(int hostId, int vmId, int taskType, int initialDC,
+			double serviceTime, double cpuTime, double transferTime) {
+
+		getStat(completionStats, key(hostId, taskType, 0)).add(serviceTime);
+		getStat(executionStats, key(hostId, vmId, taskType)).add(cpuTime);
+		getStat(transferStats, key(initialDC, hostId, 0)).add(transferTime);
+	}
+
+	/**
+	 * Fills the cells of the edge base stations, tasks on the cloud are not part of the matrix
+	 */
+	public void fillETCMatrix(ETCMatrix matrix) {
+		RunningStat[] cells = new RunningStat[matrix.getDataCnum() * matrix.getTaskTypeNum()];
+		for(Map.Entry<Long, RunningStat> entry : completionStats.entrySet()) {
+			int host = part(entry.getKey(), 0);
+			int taskType = part(entry.getKey(), 1);
+			if(host < matrix.getDataCnum() && taskType < matrix.getTaskTypeNum()) {
+				merge(cells, matrix.getOffset(host, taskType), entry.getValue());
+			}
+		}
+		fill(cells, matrix);
+	}
+
+	/**
+	 * Fills the cells of the edge VMs, tasks on the cloud are not part of the matrix
+	 */
+	public void fillPTCMatrix(PTCMatrix matrix) {
+		RunningStat[] cells = new RunningStat[matrix.getDataCnum() * matrix.getVmNum() * matrix.getTaskTypeNum()];
+		for(Map.Entry<Long, RunningStat> entry : executionStats.entrySet()) {
+			int host = part(entry.getKey(), 0);
+			int vm = part(entry.getKey(), 1);
+			int taskType = part(entry.getKey(), 2);
+			if(host < matrix.getDataCnum() && vm < matrix.getVmNum() && taskType < matrix.getTaskTypeNum()) {
+				merge(cells, matrix.getOffset(host, vm, taskType), entry.getValue());
+			}
+		}
+		fill(cells, matrix);
+	}
+
+	/**
+	 * Fills the transfer times between edge base stations, receiving hosts
+	 * beyond the last column are merged into the last column
+	 */
+	public void fillETTMatrix(ETTMatrix matrix) {
+		RunningStat[] cells = new RunningStat[matrix.getDataCnum() * matrix.getTaskTypeNum()];
+		for(Map.Entry<Long, RunningStat> entry : transferStats.entrySet()) {
+			int source = part(entry.getKey(), 0);
+			int host = part(entry.getKey(), 1);
+			if(source < matrix.getDataCnum() && host < SimSettings.CLOUD_DATACENTER_ID) {
+				int column = Math.min(host, matrix.getTaskTypeNum() - 1);
+				merge(cells, matrix.getOffset(source, column), entry.getValue());
+			}
+		}
+		fill(cells, matrix);
+	}
+
+	public void clear() {
+		completionStats.clear();
+		executionStats.clear();
+		transferStats.clear();
+	}
+
+	/**
+	 * Writes the accumulators to a binary snapshot
+	 */
+	public void save(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeInt(SNAPSHOT_VERSION);
+			writeStats(out, completionStats);
+			writeStats(out, executionStats);
+			writeStats(out, transferStats);
+		}
+	}
+
+	/**
+	 * Replaces the accumulators with the content of a binary snapshot,
+	 * tasks completed afterwards keep refining the loaded statistics
+	 */
+	public void load(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != SNAPSHOT_MAGIC)
+				throw new IOException("Not a statistics snapshot: " + file);
+			int version = in.readInt();
+			if (version != SNAPSHOT_VERSION)
+				throw new IOException("Unsupported statistics snapshot version " + version + ": " + file);
+
+			clear();
+			readStats(in, completionStats);
+			readStats(in, executionStats);
+			readStats(in, transferStats);
+		}
+	}
+
+	private static void writeStats(DataOutputStream out, HashMap<Long, RunningStat> stats) throws IOException {
+		out.writeInt(stats.size());
+		for(Map.Entry<Long, RunningStat> entry : stats.entrySet()) {
+			RunningStat stat = entry.getValue();
+			out.writeLong(entry.getKey());
+			out.writeLong(stat.getCount());
+			out.writeDouble(stat.getMean());
+			out.writeDouble(stat.getM2());
+		}
+	}
+
+	private static void readStats(DataInputStream in, HashMap<Long, RunningStat> stats) throws IOException {
+		int size = in.readInt();
+		for(int i = 0; i < size; i++) {
+			long key = in.readLong();
+			stats.put(key, new RunningStat(in.readLong(), in.readDouble(), in.readDouble()));
+		}
+	}
+
+	private static long key(int a, int b, int c) {
+		return ((a & KEY_MASK) << (2 * KEY_BITS)) | ((b & KEY_MASK) << KEY_BITS) | (c & KEY_MASK);
+	}
+
+	private static int part(long key, int index) {
+		return (int) ((key >>> ((2 - index) * KEY_BITS)) & KEY_MASK);
+	}
+
+	private static RunningStat getStat(HashMap<Long, RunningStat> stats, long key) {
+		RunningStat stat = stats.get(key);
+		if(stat == null) {
+			stat = new RunningStat();
+			stats.put(key, stat);
+		}
+		return stat;
+	}
+
+	private static void merge(RunningStat[] cells, int offset, RunningStat stat) {
+		if(cells[offset] == null) {
+			cells[offset] = new RunningStat();
+		}
+		cells[offset].add(stat);
+	}
+
+	private static void fill(RunningStat[] cells, DistributionMatrix matrix) {
+		for(int offset = 0; offset < cells.length; offset++) {
+			if(cells[offset] != null) {
+				matrix.set(offset, cells[offset].getMean(), cells[offset].getStdev());
+			}
+		}
+	}
+
+}
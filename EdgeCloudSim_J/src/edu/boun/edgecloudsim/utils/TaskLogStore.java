@@ -0,0 +1,432 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+public class TaskLogStore {
+	/**
+	 *  Struct-of-arrays store for the task logs.
+	 *  Every logged task occupies one slot of the columns; an open addressing
+	 *  map from task id to slot finds it. A removed task returns its slot to
+	 *  a free list right away, so a long running task does not keep the slots
+	 *  of the tasks logged after it and the columns only grow with the number
+	 *  of tasks held at the same time.
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int NO_TASK = -1;
+	private static final SimLogger.TASK_STATUS[] STATUS_VALUES = SimLogger.TASK_STATUS.values();
+
+	private int capacity;
+	private int size; // highest task id + 1
+	private int count; // number of logged tasks
+	private int firstId; // lowest task id which may still be held
+	private int used; // slots handed out so far, the ones above are never used
+
+	// free slots, the last one is reused first
+	private int[] freeSlots;
+	private int freeCount;
+
+	// task id -> slot, linear probing, kept at most half full
+	private int[] mapKeys;
+	private int[] mapSlots;
+	private int mapMask;
+
+	private byte[] status;
+	private int[] initialDC;
+	private int[] datacenterId;
+	private int[] hostId;
+	private int[] vmId;
+	private int[] vmType;
+	private int[] taskType;
+	private int[] taskLenght;
+	private int[] taskInputType;
+	private int[] taskOutputSize;
+	private double[] taskStartTime;
+	private double[] processingStartTime;
+	private double[] taskEndTime;
+	private double[] networkDelay;
+	private double[] cost;
+
+	public TaskLogStore() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	private void allocate(int _capacity) {
+		capacity = _capacity;
+		size = 0;
+		count = 0;
+		firstId = 0;
+		used = 0;
+		freeSlots = new int[capacity];
+		freeCount = 0;
+		mapKeys = new int[capacity * 2];
+		mapSlots = new int[capacity * 2];
+		mapMask = capacity * 2 - 1;
+		Arrays.fill(mapKeys, NO_TASK);
+		status = new byte[capacity];
+		initialDC = new int[capacity];
+		datacenterId = new int[capacity];
+		hostId = new int[capacity];
+		vmId = new int[capacity];
+		vmType = new int[capacity];
+		taskType = new int[capacity];
+		taskLenght = new int[capacity];
+		taskInputType = new int[capacity];
+		taskOutputSize = new int[capacity];
+		taskStartTime = new double[capacity];
+		processingStartTime = new double[capacity];
+		taskEndTime = new double[capacity];
+		networkDelay = new double[capacity];
+		cost = new double[capacity];
+	}
+
+	/**
+	 * Doubles the columns and rehashes the map once every slot is taken
+	 */
+	private void grow() {
+		int newCapacity = capacity * 2;
+		freeSlots = Arrays.copyOf(freeSlots, newCapacity);
+		status = Arrays.copyOf(status, newCapacity);
+		initialDC = Arrays.copyOf(initialDC, newCapacity);
+		datacenterId = Arrays.copyOf(datacenterId, newCapacity);
+		hostId = Arrays.copyOf(hostId, newCapacity);
+		vmId = Arrays.copyOf(vmId, newCapacity);
+		vmType = Arrays.copyOf(vmType, newCapacity);
+		taskType = Arrays.copyOf(taskType, newCapacity);
+		taskLenght = Arrays.copyOf(taskLenght, newCapacity);
+		taskInputType = Arrays.copyOf(taskInputType, newCapacity);
+		taskOutputSize = Arrays.copyOf(taskOutputSize, newCapacity);
+		taskStartTime = Arrays.copyOf(taskStartTime, newCapacity);
+		processingStartTime = Arrays.copyOf(processingStartTime, newCapacity);
+		taskEndTime = Arrays.copyOf(taskEndTime, newCapacity);
+		networkDelay = Arrays.copyOf(networkDelay, newCapacity);
+		cost = Arrays.copyOf(cost, newCapacity);
+		capacity = newCapacity;
+
+		int[] oldKeys = mapKeys;
+		int[] oldSlots = mapSlots;
+		mapKeys = new int[capacity * 2];
+		mapSlots = new int[capacity * 2];
+		mapMask = capacity * 2 - 1;
+		Arrays.fill(mapKeys, NO_TASK);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != NO_TASK)
+				put(oldKeys[i], oldSlots[i]);
+		}
+	}
+
+	private int bucketOf(int taskId) {
+		int hash = taskId * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mapMask;
+	}
+
+	private void put(int taskId, int slot) {
+		int i = bucketOf(taskId);
+		while (mapKeys[i] != NO_TASK)
+			i = (i + 1) & mapMask;
+		mapKeys[i] = taskId;
+		mapSlots[i] = slot;
+	}
+
+	/**
+	 * Returns the slot of a logged task, -1 if it is not held
+	 */
+	private int indexOf(int taskId) {
+		for (int i = bucketOf(taskId); mapKeys[i] != NO_TASK; i = (i + 1) & mapMask) {
+			if (mapKeys[i] == taskId)
+				return mapSlots[i];
+		}
+		return -1;
+	}
+
+	/**
+	 * Deletes a task from the map, the entries probing past it move back
+	 */
+	private void unmap(int taskId) {
+		int i = bucketOf(taskId);
+		while (mapKeys[i] != taskId)
+			i = (i + 1) & mapMask;
+
+		int hole = i;
+		for (i = (i + 1) & mapMask; mapKeys[i] != NO_TASK; i = (i + 1) & mapMask) {
+			int home = bucketOf(mapKeys[i]);
+			// the entry may fill the hole if its bucket is not in (hole, i]
+			if (((i - home) & mapMask) >= ((i - hole) & mapMask)) {
+				mapKeys[hole] = mapKeys[i];
+				mapSlots[hole] = mapSlots[i];
+				hole = i;
+			}
+		}
+		mapKeys[hole] = NO_TASK;
+	}
+
+	public void add(int taskId, double _taskStartTime, int _taskType, int _taskLenght, int _taskInputType,
+			int _taskOutputSize, int _taskHost, int _vmId) {
+		if (taskId < 0)
+			throw new IllegalArgumentException("Task id " + taskId + " is negative");
+
+		int i = indexOf(taskId);
+		if (i < 0) {
+			if (freeCount > 0) {
+				i = freeSlots[--freeCount];
+			} else {
+				if (used == capacity)
+					grow();
+				i = used++;
+			}
+			put(taskId, i);
+			count++;
+			if (taskId < firstId || count == 1)
+				firstId = taskId;
+		}
+		if (taskId >= size)
+			size = taskId + 1;
+
+		status[i] = (byte) SimLogger.TASK_STATUS.CREATED.ordinal();
+		initialDC[i] = 0;
+		datacenterId[i] = 0;
+		hostId[i] = _taskHost;
+		vmId[i] = _vmId;
+		vmType[i] = 0;
+		taskType[i] = _taskType;
+		taskLenght[i] = _taskLenght;
+		taskInputType[i] = _taskInputType;
+		taskOutputSize[i] = _taskOutputSize;
+		taskStartTime[i] = _taskStartTime;
+		processingStartTime[i] = 0;
+		taskEndTime[i] = 0;
+		networkDelay[i] = 0;
+		cost[i] = 0;
+	}
+
+	/**
+	 * Returns one past the highest logged task id, the bound for id scans
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the lowest task id that may still be held, the start of id scans
+	 */
+	public int firstId() {
+		return firstId;
+	}
+
+	public int count() {
+		return count;
+	}
+
+	public boolean contains(int taskId) {
+		return indexOf(taskId) >= 0;
+	}
+
+	/**
+	 * Drops a task from the store and frees its slot, its id is never reused
+	 */
+	public void remove(int taskId) {
+		int i = indexOf(taskId);
+		if (i < 0)
+			return;
+
+		unmap(taskId);
+		freeSlots[freeCount++] = i;
+		count--;
+
+		if (count == 0)
+			firstId = size;
+		else if (taskId == firstId)
+			while (!contains(firstId))
+				firstId++;
+	}
+
+	public void clear() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/*
+	 * state transitions
+	 */
+
+	public void taskUploadStarted(int taskId, double taskUploadTime) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		networkDelay[i] += taskUploadTime;
+		status[i] = (byte) SimLogger.TASK_STATUS.UPLOADING.ordinal();
+	}
+
+	public void taskUploaded(int taskId, int _datacenterId, int _hostId, int _vmId, int _vmType, double time) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		status[i] = (byte) SimLogger.TASK_STATUS.PROCESSING.ordinal();
+		datacenterId[i] = _datacenterId;
+		hostId[i] = _hostId;
+		vmId[i] = _vmId;
+		vmType[i] = _vmType;
+		processingStartTime[i] = time;
+	}
+
+	public void taskDownloadStarted(int taskId, double taskDownloadTime) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		networkDelay[i] += taskDownloadTime;
+		status[i] = (byte) SimLogger.TASK_STATUS.DOWNLOADING.ordinal();
+	}
+
+	public void taskDownloaded(int taskId, double _taskEndTime) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		taskEndTime[i] = _taskEndTime;
+		status[i] = (byte) SimLogger.TASK_STATUS.COMLETED.ordinal();
+	}
+
+	public void taskRejectedDueToVMCapacity(int taskId, double _taskRejectTime) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		taskEndTime[i] = _taskRejectTime;
+		status[i] = (byte) SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY.ordinal();
+	}
+
+	public void taskRejectedDueToBandwidth(int taskId, double _taskRejectTime, int _vmType) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		vmType[i] = _vmType;
+		taskEndTime[i] = _taskRejectTime;
+		status[i] = (byte) SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH.ordinal();
+	}
+
+	public void taskFailedDueToBandwidth(int taskId, double _time) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		taskEndTime[i] = _time;
+		status[i] = (byte) SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH.ordinal();
+	}
+
+	public void taskFailedDueToMobility(int taskId, double _time) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		taskEndTime[i] = _time;
+		status[i] = (byte) SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY.ordinal();
+	}
+
+	public void setInitDC(int taskId, int _initialDC) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		initialDC[i] = _initialDC;
+	}
+
+	public void setCost(int taskId, double _bwCost, double _cpuCost) {
+		int i = indexOf(taskId);
+		if(i < 0)
+			return;
+		cost[i] = _bwCost + _cpuCost;
+	}
+
+	/*
+	 * column getters
+	 */
+
+	public SimLogger.TASK_STATUS getStatus(int taskId) {
+		return STATUS_VALUES[status[indexOf(taskId)]];
+	}
+
+	public boolean isInWarmUpPeriod(int taskId) {
+		return taskStartTime[indexOf(taskId)] < SimSettings.getInstance().getWarmUpPeriod();
+	}
+
+	public int getInitialDC(int taskId) {
+		return initialDC[indexOf(taskId)];
+	}
+
+	public int getDatacenterId(int taskId) {
+		return datacenterId[indexOf(taskId)];
+	}
+
+	public int getHostID(int taskId) {
+		return hostId[indexOf(taskId)];
+	}
+
+	public int getVmId(int taskId) {
+		return vmId[indexOf(taskId)];
+	}
+
+	public int getVmType(int taskId) {
+		return vmType[indexOf(taskId)];
+	}
+
+	public int getTaskType(int taskId) {
+		return taskType[indexOf(taskId)];
+	}
+
+	public int getTaskLenght(int taskId) {
+		return taskLenght[indexOf(taskId)];
+	}
+
+	public int getTaskInputType(int taskId) {
+		return taskInputType[indexOf(taskId)];
+	}
+
+	public int getTaskOutputSize(int taskId) {
+		return taskOutputSize[indexOf(taskId)];
+	}
+
+	public double getStartTime(int taskId) {
+		return taskStartTime[indexOf(taskId)];
+	}
+
+	public double getProcStartTime(int taskId) {
+		return processingStartTime[indexOf(taskId)];
+	}
+
+	public double getEndTime(int taskId) {
+		return taskEndTime[indexOf(taskId)];
+	}
+
+	public double getNetworkDelay(int taskId) {
+		return networkDelay[indexOf(taskId)];
+	}
+
+	public double getServiceTime(int taskId) {
+		int i = indexOf(taskId);
+		return taskEndTime[i] - taskStartTime[i];
+	}
+
+	public double getCost(int taskId) {
+		return cost[indexOf(taskId)];
+	}
+
+	public String toString(int taskId) {
+		int i = indexOf(taskId);
+		String result = taskId + SimSettings.DELIMITER + datacenterId[i] + SimSettings.DELIMITER + hostId[i]
+				+ SimSettings.DELIMITER + vmId[i] + SimSettings.DELIMITER + vmType[i] + SimSettings.DELIMITER + taskType[i]
+				+ SimSettings.DELIMITER + taskLenght[i] + SimSettings.DELIMITER + taskInputType[i] + SimSettings.DELIMITER
+				+ taskOutputSize[i] + SimSettings.DELIMITER + taskStartTime[i] + SimSettings.DELIMITER + taskEndTime[i]
+				+ SimSettings.DELIMITER;
+
+		SimLogger.TASK_STATUS taskStatus = getStatus(taskId);
+		if (taskStatus == SimLogger.TASK_STATUS.COMLETED)
+			result += networkDelay[i];
+		else if (taskStatus == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY)
+			result += "1"; // failure reason 1
+		else if (taskStatus == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH)
+			result += "2"; // failure reason 2
+		else if (taskStatus == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH)
+			result += "3"; // failure reason 3
+		else if (taskStatus == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY)
+			result += "4"; // failure reason 4
+		else
+			result += "0"; // default failure reason
+		return result;
+	}
+
+}
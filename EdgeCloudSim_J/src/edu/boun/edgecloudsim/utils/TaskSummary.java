@@ -0,0 +1,181 @@
+package edu.boun.edgecloudsim.utils;
+
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+public class TaskSummary {
+	/**
+	 *  Per app type aggregates of the finished tasks,
+	 *  the last index is the total of all app types
+	 */
+	protected int numOfAppTypes;
+
+	int[] uncompletedTask;
+	int[] uncompletedTaskOnCloud;
+	int[] uncompletedTaskOnCloudlet;
+
+	int[] completedTask;
+	int[] completedTaskOnCloud;
+	int[] completedTaskOnCloudlet;
+
+	int[] failedTask;
+	int[] failedTaskOnCloud;
+	int[] failedTaskOnCloudlet;
+
+	double[] networkDelay;
+	double[] wanDelay;
+	double[] lanDelay;
+
+	double[] serviceTime;
+	double[] serviceTimeOnCloud;
+	double[] serviceTimeOnCloudlet;
+
+	double[] processingTime;
+	double[] processingTimeOnCloud;
+	double[] processingTimeOnCloudlet;
+
+	double[] cost;
+	int[] failedTaskDuetoBw;
+	int[] failedTaskDuetoLanBw;
+	int[] failedTaskDuetoWanBw;
+	int[] failedTaskDuetoMobility;
+	int[] rejectedTaskDoToVmCapacity;
+
+	public TaskSummary(int _numOfAppTypes) {
+		numOfAppTypes = _numOfAppTypes;
+		clear();
+	}
+
+	public void clear() {
+		uncompletedTask = new int[numOfAppTypes + 1];
+		uncompletedTaskOnCloud = new int[numOfAppTypes + 1];
+		uncompletedTaskOnCloudlet = new int[numOfAppTypes + 1];
+
+		completedTask = new int[numOfAppTypes + 1];
+		completedTaskOnCloud = new int[numOfAppTypes + 1];
+		completedTaskOnCloudlet = new int[numOfAppTypes + 1];
+
+		failedTask = new int[numOfAppTypes + 1];
+		failedTaskOnCloud = new int[numOfAppTypes + 1];
+		failedTaskOnCloudlet = new int[numOfAppTypes + 1];
+
+		networkDelay = new double[numOfAppTypes + 1];
+		wanDelay = new double[numOfAppTypes + 1];
+		lanDelay = new double[numOfAppTypes + 1];
+
+		serviceTime = new double[numOfAppTypes + 1];
+		serviceTimeOnCloud = new double[numOfAppTypes + 1];
+		serviceTimeOnCloudlet = new double[numOfAppTypes + 1];
+
+		processingTime = new double[numOfAppTypes + 1];
+		processingTimeOnCloud = new double[numOfAppTypes + 1];
+		processingTimeOnCloudlet = new double[numOfAppTypes + 1];
+
+		cost = new double[numOfAppTypes + 1];
+		failedTaskDuetoBw = new int[numOfAppTypes + 1];
+		failedTaskDuetoLanBw = new int[numOfAppTypes + 1];
+		failedTaskDuetoWanBw = new int[numOfAppTypes + 1];
+		failedTaskDuetoMobility = new int[numOfAppTypes + 1];
+		rejectedTaskDoToVmCapacity = new int[numOfAppTypes + 1];
+	}
+
+	/**
+	 * Folds a task into the aggregates of its app type
+	 * @param status the last status of the task
+	 * @param taskType the app type of the task
+	 * @param onCloud true if the task was assigned to a cloud vm
+	 * @param _serviceTime the service time of the task
+	 * @param _networkDelay the total network delay of the task
+	 * @param _cost the cost of the task
+	 */
+	public void addTask(SimLogger.TASK_STATUS status, int taskType, boolean onCloud,
+			double _serviceTime, double _networkDelay, double _cost) {
+
+		if (status == SimLogger.TASK_STATUS.COMLETED) {
+			completedTask[taskType]++;
+
+			if (onCloud)
+				completedTaskOnCloud[taskType]++;
+			else
+				completedTaskOnCloudlet[taskType]++;
+		} else {
+			failedTask[taskType]++;
+
+			if (onCloud)
+				failedTaskOnCloud[taskType]++;
+			else
+				failedTaskOnCloudlet[taskType]++;
+		}
+
+		if (status == SimLogger.TASK_STATUS.COMLETED) {
+			cost[taskType] += _cost;
+			serviceTime[taskType] += _serviceTime;
+			networkDelay[taskType] += _networkDelay;
+			processingTime[taskType] += (_serviceTime - _networkDelay);
+
+			if (onCloud) {
+				wanDelay[taskType] += _networkDelay;
+				serviceTimeOnCloud[taskType] += _serviceTime;
+				processingTimeOnCloud[taskType] += (_serviceTime - _networkDelay);
+			} else {
+				lanDelay[taskType] += _networkDelay;
+				serviceTimeOnCloudlet[taskType] += _serviceTime;
+				processingTimeOnCloudlet[taskType] += (_serviceTime - _networkDelay);
+			}
+		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY) {
+			rejectedTaskDoToVmCapacity[taskType]++;
+		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH
+				|| status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH) {
+			failedTaskDuetoBw[taskType]++;
+			if (onCloud)
+				failedTaskDuetoWanBw[taskType]++;
+			else
+				failedTaskDuetoLanBw[taskType]++;
+		} else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY) {
+			failedTaskDuetoMobility[taskType]++;
+		} else {
+			uncompletedTask[taskType]++;
+			if (onCloud)
+				uncompletedTaskOnCloud[taskType]++;
+			else
+				uncompletedTaskOnCloudlet[taskType]++;
+		}
+	}
+
+	/**
+	 * Stores the total of all app types in the last index
+	 */
+	public void calculateTotals() {
+		uncompletedTask[numOfAppTypes] = IntStream.of(uncompletedTask).limit(numOfAppTypes).sum();
+		uncompletedTaskOnCloud[numOfAppTypes] = IntStream.of(uncompletedTaskOnCloud).limit(numOfAppTypes).sum();
+		uncompletedTaskOnCloudlet[numOfAppTypes] = IntStream.of(uncompletedTaskOnCloudlet).limit(numOfAppTypes).sum();
+
+		completedTask[numOfAppTypes] = IntStream.of(completedTask).limit(numOfAppTypes).sum();
+		completedTaskOnCloud[numOfAppTypes] = IntStream.of(completedTaskOnCloud).limit(numOfAppTypes).sum();
+		completedTaskOnCloudlet[numOfAppTypes] = IntStream.of(completedTaskOnCloudlet).limit(numOfAppTypes).sum();
+
+		failedTask[numOfAppTypes] = IntStream.of(failedTask).limit(numOfAppTypes).sum();
+		failedTaskOnCloud[numOfAppTypes] = IntStream.of(failedTaskOnCloud).limit(numOfAppTypes).sum();
+		failedTaskOnCloudlet[numOfAppTypes] = IntStream.of(failedTaskOnCloudlet).limit(numOfAppTypes).sum();
+
+		networkDelay[numOfAppTypes] = DoubleStream.of(networkDelay).limit(numOfAppTypes).sum();
+		lanDelay[numOfAppTypes] = DoubleStream.of(lanDelay).limit(numOfAppTypes).sum();
+		wanDelay[numOfAppTypes] = DoubleStream.of(wanDelay).limit(numOfAppTypes).sum();
+
+		serviceTime[numOfAppTypes] = DoubleStream.of(serviceTime).limit(numOfAppTypes).sum();
+		serviceTimeOnCloud[numOfAppTypes] = DoubleStream.of(serviceTimeOnCloud).limit(numOfAppTypes).sum();
+		serviceTimeOnCloudlet[numOfAppTypes] = DoubleStream.of(serviceTimeOnCloudlet).limit(numOfAppTypes).sum();
+
+		processingTime[numOfAppTypes] = DoubleStream.of(processingTime).limit(numOfAppTypes).sum();
+		processingTimeOnCloud[numOfAppTypes] = DoubleStream.of(processingTimeOnCloud).limit(numOfAppTypes).sum();
+		processingTimeOnCloudlet[numOfAppTypes] = DoubleStream.of(processingTimeOnCloudlet).limit(numOfAppTypes).sum();
+
+		cost[numOfAppTypes] = DoubleStream.of(cost).limit(numOfAppTypes).sum();
+		failedTaskDuetoBw[numOfAppTypes] = IntStream.of(failedTaskDuetoBw).limit(numOfAppTypes).sum();
+		failedTaskDuetoWanBw[numOfAppTypes] = IntStream.of(failedTaskDuetoWanBw).limit(numOfAppTypes).sum();
+		failedTaskDuetoLanBw[numOfAppTypes] = IntStream.of(failedTaskDuetoLanBw).limit(numOfAppTypes).sum();
+		failedTaskDuetoMobility[numOfAppTypes] = IntStream.of(failedTaskDuetoMobility).limit(numOfAppTypes).sum();
+		rejectedTaskDoToVmCapacity[numOfAppTypes] = IntStream.of(rejectedTaskDoToVmCapacity).limit(numOfAppTypes).sum();
+	}
+
+}
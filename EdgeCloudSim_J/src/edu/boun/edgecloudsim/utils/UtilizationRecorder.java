@@ -0,0 +1,197 @@
+package edu.boun.edgecloudsim.utils;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+public class UtilizationRecorder {
+	/**
+	 *  Utilization time series of every VM, every datacenter and the
+	 *  average of all VMs, kept in preallocated primitive arrays.
+	 *  Every stored point is the mean of 'downsampling' raw samples;
+	 *  if the arrays fill up, neighbouring points are merged and the
+	 *  downsampling factor is doubled, so the memory never grows.
+	 */
+	protected int numOfVms;
+	protected int numOfDatacenters;
+	protected int capacity;
+	protected int downsampling;
+
+	private int[] vmDatacenter;
+	private int[] datacenterVmCount;
+
+	private double[] times;
+	private double[] avgLoads;
+	private double[] datacenterLoads; // [point * numOfDatacenters + datacenter]
+	private double[] vmLoads; // [point * numOfVms + vm]
+	private int size;
+
+	// raw samples of the point being built
+	private int pending;
+	private double pendingTime;
+	private double[] pendingVmLoads;
+
+	// mean of the raw samples, independent of the downsampling
+	private double totalLoad;
+	private long numOfSamples;
+
+	/**
+	 * A parameterized constructor
+	 * @param _vmDatacenter the datacenter index of each VM, indexed by VM id
+	 * @param _numOfDatacenters the number of datacenters
+	 * @param _capacity the number of points to preallocate
+	 * @param _downsampling the number of raw samples averaged into a point
+	 */
+	public UtilizationRecorder(int[] _vmDatacenter, int _numOfDatacenters, int _capacity, int _downsampling) {
+		numOfVms = _vmDatacenter.length;
+		numOfDatacenters = _numOfDatacenters;
+		capacity = Math.max(2, _capacity + (_capacity % 2)); // even, so points merge in pairs
+		downsampling = Math.max(1, _downsampling);
+		vmDatacenter = _vmDatacenter;
+
+		datacenterVmCount = new int[numOfDatacenters];
+		for (int vm = 0; vm < numOfVms; vm++)
+			datacenterVmCount[vmDatacenter[vm]]++;
+
+		times = new double[capacity];
+		avgLoads = new double[capacity];
+		datacenterLoads = new double[capacity * numOfDatacenters];
+		vmLoads = new double[capacity * numOfVms];
+		pendingVmLoads = new double[numOfVms];
+	}
+
+	/**
+	 * Adds a raw sample
+	 * @param time the sample time
+	 * @param vmUtilization the cpu utilization of each VM, indexed by VM id
+	 */
+	public void addSample(double time, double[] vmUtilization) {
+		double total = 0;
+		for (int vm = 0; vm < numOfVms; vm++) {
+			pendingVmLoads[vm] += vmUtilization[vm];
+			total += vmUtilization[vm];
+		}
+		totalLoad += total / numOfVms;
+		numOfSamples++;
+
+		pendingTime = time;
+		pending++;
+		if (pending == downsampling) {
+			// a full series doubles the downsampling and keeps collecting
+			if (size == capacity)
+				compact();
+			else
+				storePending();
+		}
+	}
+
+	/**
+	 * Stores the samples of an incomplete point, called once sampling ends
+	 */
+	public void finish() {
+		if (pending > 0) {
+			if (size == capacity)
+				compact();
+			storePending();
+		}
+	}
+
+	private void storePending() {
+		times[size] = pendingTime;
+		double total = 0;
+		int dcOffset = size * numOfDatacenters;
+		int vmOffset = size * numOfVms;
+		for (int dc = 0; dc < numOfDatacenters; dc++)
+			datacenterLoads[dcOffset + dc] = 0;
+
+		for (int vm = 0; vm < numOfVms; vm++) {
+			double load = pendingVmLoads[vm] / pending;
+			vmLoads[vmOffset + vm] = load;
+			datacenterLoads[dcOffset + vmDatacenter[vm]] += load;
+			total += load;
+			pendingVmLoads[vm] = 0;
+		}
+		for (int dc = 0; dc < numOfDatacenters; dc++) {
+			if (datacenterVmCount[dc] > 0)
+				datacenterLoads[dcOffset + dc] /= datacenterVmCount[dc];
+		}
+		avgLoads[size] = total / numOfVms;
+
+		size++;
+		pending = 0;
+	}
+
+	/**
+	 * Merges every two neighbouring points and doubles the downsampling
+	 */
+	private void compact() {
+		int half = size / 2;
+		for (int i = 0; i < half; i++) {
+			int a = 2 * i, b = 2 * i + 1;
+			times[i] = times[b];
+			avgLoads[i] = (avgLoads[a] + avgLoads[b]) / 2;
+			for (int dc = 0; dc < numOfDatacenters; dc++)
+				datacenterLoads[i * numOfDatacenters + dc] = (datacenterLoads[a * numOfDatacenters + dc]
+						+ datacenterLoads[b * numOfDatacenters + dc]) / 2;
+			for (int vm = 0; vm < numOfVms; vm++)
+				vmLoads[i * numOfVms + vm] = (vmLoads[a * numOfVms + vm] + vmLoads[b * numOfVms + vm]) / 2;
+		}
+		size = half;
+		downsampling *= 2;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getNumOfVms() {
+		return numOfVms;
+	}
+
+	public int getNumOfDatacenters() {
+		return numOfDatacenters;
+	}
+
+	public int getDownsampling() {
+		return downsampling;
+	}
+
+	public long getNumOfSamples() {
+		return numOfSamples;
+	}
+
+	/**
+	 * Returns the mean of the average utilization over all raw samples
+	 */
+	public double getAverageLoad() {
+		return numOfSamples == 0 ? 0.0 : totalLoad / numOfSamples;
+	}
+
+	public double getTime(int point) {
+		return times[point];
+	}
+
+	public double getAvgLoad(int point) {
+		return avgLoads[point];
+	}
+
+	public double getDatacenterLoad(int point, int datacenter) {
+		return datacenterLoads[point * numOfDatacenters + datacenter];
+	}
+
+	public double getVmLoad(int point, int vm) {
+		return vmLoads[point * numOfVms + vm];
+	}
+
+	/**
+	 * Returns the point as time, average, each datacenter and each VM
+	 */
+	public String toString(int point) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(times[point]).append(SimSettings.DELIMITER).append(avgLoads[point]);
+		for (int dc = 0; dc < numOfDatacenters; dc++)
+			sb.append(SimSettings.DELIMITER).append(getDatacenterLoad(point, dc));
+		for (int vm = 0; vm < numOfVms; vm++)
+			sb.append(SimSettings.DELIMITER).append(getVmLoad(point, vm));
+		return sb.toString();
+	}
+
+}